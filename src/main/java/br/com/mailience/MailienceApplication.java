@@ -40,7 +40,13 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class MailienceApplication {
 
     public static void main(final String[] args) {
-        SpringApplication.run(MailienceApplication.class, args);
+        var context = SpringApplication.run(MailienceApplication.class, args);
+        // a importação em massa termina durante o startup; como comando de carga, encerra com o seu código de saída
+        var environment = context.getEnvironment();
+        if (environment.containsProperty("mailience.import.file")
+                && environment.getProperty("mailience.import.exit", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
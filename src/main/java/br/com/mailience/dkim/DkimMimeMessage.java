@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.dkim;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * {@link MimeMessage} assinada com DKIM no momento da serialização.
+ *
+ * <p>
+ * A assinatura é calculada em {@link #writeTo(OutputStream, String[])}, depois que o transporte já salvou as
+ * alterações da mensagem, garantindo que os headers assinados ({@code Date}, {@code Message-ID}, etc.) sejam exatamente
+ * os transmitidos.
+ * </p>
+ */
+class DkimMimeMessage extends MimeMessage {
+
+    private final DkimSigner signer;
+    private final String     contentKey;
+
+    /**
+     * @param session sessão de e-mail usada na criação da mensagem
+     * @param signer assinador DKIM
+     * @param contentKey chave que identifica o conteúdo do corpo, usada para reaproveitar o hash do corpo; pode ser
+     *            {@code null}
+     */
+    DkimMimeMessage(final Session session, final DkimSigner signer, final String contentKey) {
+        super(session);
+        this.signer = signer;
+        this.contentKey = contentKey;
+    }
+
+    /**
+     * @return chave que identifica o conteúdo do corpo, ou {@code null}
+     */
+    String contentKey() {
+        return contentKey;
+    }
+
+    /**
+     * Escreve o header {@code DKIM-Signature} seguido da mensagem original.
+     */
+    @Override
+    public void writeTo(final OutputStream os, final String[] ignoreList) throws IOException, MessagingException {
+        if (!saved) {
+            saveChanges();
+        }
+        os.write(signer.sign(this, ignoreList).getBytes(US_ASCII));
+        os.write(new byte[] { '\r', '\n' });
+        super.writeTo(os, ignoreList);
+    }
+
+    /**
+     * Escreve a mensagem sem a assinatura, usado pelo {@link DkimSigner} para calcular o hash do corpo.
+     *
+     * @param os destino dos bytes
+     * @param ignoreList headers que não devem ser escritos
+     */
+    void writeUnsignedTo(final OutputStream os, final String[] ignoreList) throws IOException, MessagingException {
+        super.writeTo(os, ignoreList);
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.dkim;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+
+/**
+ * Canonicalização {@code relaxed} do corpo da mensagem (RFC 6376, seção 3.4.4), aplicada em fluxo.
+ *
+ * <p>
+ * Os bytes escritos são canonicalizados à medida que chegam e enviados diretamente ao {@link MessageDigest}, sem
+ * manter o corpo em memória: sequências de espaços e tabulações viram um único espaço, espaços no fim da linha são
+ * removidos e linhas vazias no fim do corpo são ignoradas.
+ * </p>
+ */
+final class RelaxedBodyCanonicalizer extends OutputStream {
+
+    private final MessageDigest digest;
+    private final byte[]        buffer = new byte[8192];
+    private int                 position;
+    private int                 pendingLines;
+    private boolean             pendingSpace;
+    private boolean             pendingCr;
+    private boolean             empty  = true;
+
+    RelaxedBodyCanonicalizer(final MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    @Override
+    public void write(final int b) {
+        if (pendingCr) {
+            pendingCr = false;
+            if (b == '\n') {
+                pendingSpace = false;
+                pendingLines++;
+                return;
+            }
+            content('\r');
+        }
+        switch (b) {
+        case '\r' -> pendingCr = true;
+        case '\n' -> {
+            pendingSpace = false;
+            pendingLines++;
+        }
+        case ' ', '\t' -> pendingSpace = true;
+        default -> content(b);
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        for (int i = off; i < off + len; i++) {
+            write(b[i]);
+        }
+    }
+
+    /**
+     * Conclui a canonicalização e retorna o hash do corpo.
+     *
+     * @return hash do corpo canonicalizado
+     */
+    byte[] digest() {
+        if (pendingCr) {
+            pendingCr = false;
+            content('\r');
+        }
+        if (!empty) {
+            emit('\r');
+            emit('\n');
+        }
+        flushBuffer();
+        return digest.digest();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+    }
+
+    private void content(final int b) {
+        for (; pendingLines > 0; pendingLines--) {
+            emit('\r');
+            emit('\n');
+        }
+        if (pendingSpace) {
+            emit(' ');
+            pendingSpace = false;
+        }
+        emit(b);
+        empty = false;
+    }
+
+    private void emit(final int b) {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void flushBuffer() {
+        digest.update(buffer, 0, position);
+        position = 0;
+    }
+
+}
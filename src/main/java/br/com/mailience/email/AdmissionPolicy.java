@@ -0,0 +1,260 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controle de admissão de novos e-mails, aplicado antes da gravação.
+ *
+ * <p>
+ * A fila é considerada sobrecarregada quando algum dos limites configurados é ultrapassado:
+ * <ul>
+ * <li>{@code mailience.admission.max-backlog}: e-mails pendentes e em reprocessamento, lidos dos contadores por
+ * status, descontados os agendados para o futuro;</li>
+ * <li>{@code mailience.admission.max-age}: idade do e-mail pendente mais antigo, contada a partir do instante agendado
+ * quando houver; e-mails agendados para o futuro não contam;</li>
+ * <li>{@code mailience.admission.breaker-open}: circuito de envio {@code emailServiceSend} aberto.</li>
+ * </ul>
+ * O tamanho e a idade da fila são consultados no banco no máximo uma vez a cada
+ * {@code mailience.admission.refresh-interval}, para que a verificação não pese sobre a gravação.
+ * </p>
+ *
+ * <p>
+ * Com a fila sobrecarregada, a ação ({@code mailience.admission.action}) é uma de:
+ * <ul>
+ * <li>{@code REJECT}: recusa o e-mail com {@link EmailRejectedException};</li>
+ * <li>{@code DELAY}: bloqueia o chamador até a carga baixar, por no máximo {@code mailience.admission.max-delay}, e
+ * então recusa;</li>
+ * <li>{@code DOWNGRADE}: aceita o e-mail no tenant de segundo plano ({@code mailience.admission.overflow-tenant}),
+ * atendido pelo envio apenas com a capacidade que sobrar dos demais tenants.</li>
+ * </ul>
+ * </p>
+ */
+@Component
+@Slf4j
+class AdmissionPolicy {
+
+    /**
+     * Ação aplicada aos novos e-mails enquanto a fila estiver sobrecarregada.
+     */
+    enum Action {
+        NONE, REJECT, DELAY, DOWNGRADE
+    }
+
+    private static final List<EmailStatus> BACKLOG = List.of(EmailStatus.PENDING, EmailStatus.RETRYING,
+            EmailStatus.SENDING);
+
+    private final Action                   action;
+    private final long                     maxBacklog;
+    private final Duration                 maxAge;
+    private final boolean                  breakerOpen;
+    private final Duration                 maxDelay;
+    private final String                   overflowTenant;
+    private final long                     refreshInterval;
+    private final EmailRepository          repository;
+    private final EmailCounterRepository   counterRepository;
+    private final CircuitBreaker           circuitBreaker;
+    private final Map<Action, AtomicLong>  applied = new EnumMap<>(Action.class);
+    private volatile Load                  load;
+
+    AdmissionPolicy(
+            @Value("${mailience.admission.action}") final String action,
+            @Value("${mailience.admission.max-backlog}") final long maxBacklog,
+            @Value("${mailience.admission.max-age}") final long maxAge,
+            @Value("${mailience.admission.breaker-open}") final boolean breakerOpen,
+            @Value("${mailience.admission.max-delay}") final long maxDelay,
+            @Value("${mailience.admission.overflow-tenant}") final String overflowTenant,
+            @Value("${mailience.admission.refresh-interval}") final long refreshInterval,
+            final EmailRepository repository,
+            final EmailCounterRepository counterRepository,
+            final CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.action = Action.valueOf(action.strip().toUpperCase(Locale.ROOT));
+        this.maxBacklog = maxBacklog;
+        this.maxAge = Duration.ofSeconds(maxAge);
+        this.breakerOpen = breakerOpen;
+        this.maxDelay = Duration.ofMillis(maxDelay);
+        this.overflowTenant = overflowTenant;
+        this.refreshInterval = TimeUnit.MILLISECONDS.toNanos(refreshInterval);
+        this.repository = repository;
+        this.counterRepository = counterRepository;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("emailServiceSend");
+        for (var value : Action.values()) {
+            applied.put(value, new AtomicLong());
+        }
+    }
+
+    /**
+     * Verifica a carga da fila e aplica a ação configurada aos e-mails a serem gravados.
+     *
+     * <p>
+     * Deve ser chamado fora de transação: com a ação {@code DELAY}, o chamador pode ficar bloqueado.
+     * </p>
+     *
+     * @param emails e-mails a serem gravados
+     * @throws EmailRejectedException se a fila estiver sobrecarregada e a ação for {@code REJECT}, ou {@code DELAY}
+     *             sem que a carga baixe a tempo
+     */
+    void admit(final List<EmailTO> emails) {
+        if (action == Action.NONE || emails.isEmpty()) {
+            return;
+        }
+        var reason = overload();
+        if (reason == null) {
+            return;
+        }
+
+        applied.get(action).addAndGet(emails.size());
+        switch (action) {
+            case REJECT -> throw new EmailRejectedException(reason);
+            case DELAY -> await(reason);
+            case DOWNGRADE -> emails.forEach(email -> email.setTenant(overflowTenant));
+            default -> throw new IllegalStateException(action.name());
+        }
+    }
+
+    /**
+     * @return ação configurada e quantidade de e-mails recusados, atrasados e rebaixados desde o início
+     */
+    Map<String, Object> statistics() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", action.name());
+        result.put("overloaded", overload() != null);
+        result.put("rejected", applied.get(Action.REJECT).get());
+        result.put("delayed", applied.get(Action.DELAY).get());
+        result.put("downgraded", applied.get(Action.DOWNGRADE).get());
+        return result;
+    }
+
+    /**
+     * Aguarda a carga da fila baixar, consultando-a a cada intervalo de atualização.
+     *
+     * @param reason motivo da sobrecarga inicial
+     * @throws EmailRejectedException se a carga não baixar dentro do tempo máximo
+     */
+    private void await(final String reason) {
+        var deadline = System.nanoTime() + maxDelay.toNanos();
+        var current = reason;
+        while (current != null) {
+            var remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                applied.get(Action.REJECT).incrementAndGet();
+                throw new EmailRejectedException(current + " por mais de " + maxDelay.toMillis() + " ms");
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, Math.max(refreshInterval, 1)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EmailRejectedException(current);
+            }
+            current = overload();
+        }
+    }
+
+    /**
+     * @return motivo da sobrecarga, ou {@code null} se nenhum limite foi ultrapassado
+     */
+    private String overload() {
+        var state = circuitBreaker.getState();
+        if (breakerOpen && (state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN)) {
+            return "circuito de envio " + state;
+        }
+
+        var current = refresh();
+        if (maxBacklog > 0 && current.backlog() > maxBacklog) {
+            return "fila com " + current.backlog() + " e-mails (limite " + maxBacklog + ")";
+        }
+        if (!maxAge.isZero() && current.oldest() != null
+                && Duration.between(current.oldest(), Instant.now()).compareTo(maxAge) > 0) {
+            return "e-mail pendente mais antigo de " + current.oldest() + " (limite " + maxAge.toSeconds() + " s)";
+        }
+        return null;
+    }
+
+    /**
+     * Retorna o tamanho e a idade da fila, consultando o banco apenas quando o valor em cache estiver expirado.
+     */
+    private Load refresh() {
+        var current = load;
+        if (current != null && System.nanoTime() - current.loadedAt() < refreshInterval) {
+            return current;
+        }
+        synchronized (this) {
+            current = load;
+            if (current == null || System.nanoTime() - current.loadedAt() >= refreshInterval) {
+                final Map<EmailStatus, Long> counts = new EnumMap<>(EmailStatus.class);
+                counterRepository.findAll().forEach(counter -> counts.put(counter.getStatus(), counter.getTotal()));
+                var now = Instant.now();
+                var scheduled = maxBacklog > 0 ? repository.countScheduledAfter(now) : 0;
+                var oldest = maxAge.isZero() ? null : oldestDueAt(now);
+                current = new Load(new EmailStatistics(counts).backlog() - scheduled, oldest, System.nanoTime());
+                load = current;
+                log.debug("Carga da fila atualizada: {} e-mails, mais antigo de {}.", current.backlog(), oldest);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Retorna o instante em que o e-mail pendente mais antigo ficou pronto para envio: o menor entre a entrada na fila
+     * dos e-mails sem agendamento e o instante agendado dos já vencidos, obtidos em duas consultas que usam índice.
+     *
+     * @param now instante atual
+     * @return instante do e-mail mais antigo, ou {@code null} se não houver e-mails pendentes
+     */
+    private Instant oldestDueAt(final Instant now) {
+        var created = repository.findOldestUnscheduledCreatedAt(BACKLOG);
+        var scheduled = repository.findOldestDueScheduledAt(BACKLOG, now);
+        if (created == null || scheduled == null) {
+            return created != null ? created : scheduled;
+        }
+        return created.isBefore(scheduled) ? created : scheduled;
+    }
+
+    /**
+     * Carga da fila no instante da última consulta.
+     *
+     * @param backlog e-mails pendentes e em reprocessamento, sem os agendados para o futuro
+     * @param oldest instante em que o e-mail pendente mais antigo ficou pronto para envio
+     * @param loadedAt instante da consulta ({@link System#nanoTime()})
+     */
+    private record Load(long backlog, Instant oldest, long loadedAt) {
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compressão do corpo HTML dos e-mails armazenados.
+ *
+ * <p>
+ * O corpo é gravado no formato zlib (RFC 1950) com dicionário pré-definido, treinado com os templates mais comuns
+ * (veja {@code BodyDictionaryTrainer}, nos testes). Como e-mails transacionais são pequenos e muito parecidos entre
+ * si, o dicionário permite referenciar o layout comum desde o primeiro byte, o que a compressão isolada de cada corpo
+ * não consegue.
+ * </p>
+ *
+ * <p>
+ * O cabeçalho zlib identifica o dicionário usado pelo seu Adler-32. O primeiro dicionário de
+ * {@code mailience.mail.body.compression.dictionaries} é usado para comprimir e todos são aceitos na leitura, de modo
+ * que um dicionário novo pode ser adicionado à frente da lista sem reescrever os registros já gravados. Os
+ * {@link Deflater}/{@link Inflater} são reaproveitados por thread.
+ * </p>
+ */
+@Component
+@Slf4j
+class BodyCompressor {
+
+    private static final int            BUFFER_SIZE  = 8192;
+
+    private final int                   level;
+    private final byte[]                dictionary;
+    private final Map<Integer, byte[]>  dictionaries = new HashMap<>();
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<Inflater> inflaters    = ThreadLocal.withInitial(Inflater::new);
+    private final ThreadLocal<byte[]>   buffers      = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    BodyCompressor(
+            @Value("${mailience.mail.body.compression.level}") final int level,
+            @Value("${mailience.mail.body.compression.dictionaries}") final String[] locations,
+            final ResourceLoader resourceLoader) {
+        this.level = Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, level));
+        byte[] first = null;
+        for (var location : locations) {
+            if (location.isBlank()) {
+                continue;
+            }
+            var resource = resourceLoader.getResource(location.strip());
+            var bytes = read(resource);
+            dictionaries.put(adler(bytes), bytes);
+            if (first == null) {
+                first = bytes;
+            }
+            log.info("📚 Dicionário de compressão {} carregado ({} bytes, Adler-32 {}).", resource.getDescription(),
+                    bytes.length, Integer.toHexString(adler(bytes)));
+        }
+        this.dictionary = first;
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(this.level));
+    }
+
+    /**
+     * Comprime o corpo com o dicionário atual.
+     *
+     * @param body corpo HTML
+     * @return corpo comprimido no formato zlib
+     */
+    byte[] compress(final String body) {
+        var input = body.getBytes(UTF_8);
+        var deflater = deflaters.get();
+        deflater.reset();
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(input);
+        deflater.finish();
+
+        var buffer = buffers.get();
+        var out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Descomprime um corpo gravado por {@link #compress(String)}, com o dicionário atual ou um anterior.
+     *
+     * @param data corpo comprimido no formato zlib
+     * @return corpo HTML
+     * @throws IllegalStateException se os dados estiverem corrompidos ou o dicionário não for conhecido
+     */
+    String decompress(final byte[] data) {
+        var inflater = inflaters.get();
+        inflater.reset();
+        inflater.setInput(data);
+
+        var buffer = buffers.get();
+        var out = new ByteArrayOutputStream(data.length * 4);
+        try {
+            while (!inflater.finished()) {
+                var count = inflater.inflate(buffer);
+                if (count > 0) {
+                    out.write(buffer, 0, count);
+                } else if (inflater.needsDictionary()) {
+                    var known = dictionaries.get(inflater.getAdler());
+                    if (known == null) {
+                        throw new IllegalStateException("Corpo comprimido com dicionário desconhecido (Adler-32 "
+                                + Integer.toHexString(inflater.getAdler()) + ")");
+                    }
+                    inflater.setDictionary(known);
+                } else if (inflater.needsInput()) {
+                    throw new IllegalStateException("Corpo comprimido truncado");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corpo comprimido inválido: " + e.getMessage(), e);
+        }
+        return out.toString(UTF_8);
+    }
+
+    private static byte[] read(final Resource resource) {
+        try (var in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o dicionário de compressão " + resource.getDescription(), e);
+        }
+    }
+
+    private static int adler(final byte[] bytes) {
+        var adler = new Adler32();
+        adler.update(bytes);
+        return (int) adler.getValue();
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Migra o corpo dos e-mails gravados antes da compressão da coluna {@code body} para {@code body_deflated}.
+ *
+ * <p>
+ * Na inicialização, remove a restrição {@code NOT NULL} da coluna legada {@code body}, criada pelas versões anteriores,
+ * para que novos e-mails sejam gravados apenas na coluna comprimida. Em seguida, se
+ * {@code mailience.mail.body.migration.enabled} estiver ativo, comprime os registros antigos em segundo plano, em
+ * páginas de {@code mailience.mail.body.migration.page-size} e-mails por ordem de ID, limpando a coluna legada de cada
+ * um. Cada atualização só é aplicada se o registro ainda não tiver sido migrado, de modo que a migração pode ser
+ * interrompida e retomada.
+ * </p>
+ *
+ * <p>
+ * Na mesma thread, preenche {@code body_length} dos registros já comprimidos que não o têm, usado pelo job de envio
+ * para estimar a memória dos lotes; até lá, esses registros são estimados apenas pelo assunto.
+ * </p>
+ *
+ * <p>
+ * Enquanto a migração não termina, {@link EmailTO#getBody()} lê o corpo da coluna legada.
+ * </p>
+ */
+@Component
+@Slf4j
+class BodyMigrator implements ApplicationRunner, DisposableBean {
+
+    private static final String TABLE      = "MF_EMAIL";
+    private static final String COLUMN     = "body";
+    private static final String SELECT_SQL = """
+            SELECT id, body FROM MF_EMAIL
+            WHERE id > ? AND body IS NOT NULL AND body_deflated IS NULL
+            ORDER BY id
+            FETCH FIRST ? ROWS ONLY""";
+    private static final String UPDATE_SQL = """
+            UPDATE MF_EMAIL SET body_deflated = ?, body_length = ?, body = NULL
+            WHERE id = ? AND body_deflated IS NULL""";
+    private static final String LENGTH_SELECT_SQL = """
+            SELECT id, body_deflated FROM MF_EMAIL
+            WHERE id > ? AND body_length IS NULL AND body_deflated IS NOT NULL
+            ORDER BY id
+            FETCH FIRST ? ROWS ONLY""";
+    private static final String LENGTH_UPDATE_SQL = """
+            UPDATE MF_EMAIL SET body_length = ?
+            WHERE id = ? AND body_length IS NULL""";
+
+    private final boolean        enabled;
+    private final int            pageSize;
+    private final JdbcTemplate   jdbcTemplate;
+    private final BodyCompressor compressor;
+    private volatile Thread      thread;
+
+    BodyMigrator(
+            @Value("${mailience.mail.body.migration.enabled}") final boolean enabled,
+            @Value("${mailience.mail.body.migration.page-size}") final int pageSize,
+            final JdbcTemplate jdbcTemplate,
+            final BodyCompressor compressor) {
+        this.enabled = enabled;
+        this.pageSize = Math.max(1, pageSize);
+        this.jdbcTemplate = jdbcTemplate;
+        this.compressor = compressor;
+    }
+
+    /**
+     * Libera a coluna legada e inicia a migração dos registros antigos.
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+        if (Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) this::isLegacyNotNull))) {
+            jdbcTemplate.execute("ALTER TABLE MF_EMAIL ALTER COLUMN body DROP NOT NULL");
+            log.info("🗜️ Coluna legada MF_EMAIL.body liberada para nulos; novos corpos são gravados em body_deflated.");
+        }
+        if (enabled) {
+            thread = new Thread(() -> {
+                migrate();
+                fillLengths();
+            }, "mailience-body-migration");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        var current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Verifica pelos metadados do banco se a coluna legada ainda é {@code NOT NULL}.
+     */
+    private boolean isLegacyNotNull(final Connection connection) throws SQLException {
+        var metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, identifier(metaData, TABLE),
+                identifier(metaData, COLUMN))) {
+            while (columns.next()) {
+                if (columns.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static String identifier(final DatabaseMetaData metaData, final String name) throws SQLException {
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+
+    /**
+     * Comprime os registros antigos página a página.
+     */
+    private void migrate() {
+        var lastId = 0L;
+        var migrated = 0L;
+        var original = 0L;
+        var compressed = 0L;
+        var start = System.nanoTime();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final List<Object[]> page = jdbcTemplate.query(SELECT_SQL,
+                        (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2) }, lastId, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                final List<Object[]> updates = new ArrayList<>(page.size());
+                for (var row : page) {
+                    var body = (String) row[1];
+                    var data = compressor.compress(body);
+                    original += body.getBytes(UTF_8).length;
+                    compressed += data.length;
+                    updates.add(new Object[] { data, body.length(), row[0] });
+                }
+                var counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                for (var count : counts) {
+                    migrated += Math.max(0, count);
+                }
+                lastId = (Long) page.get(page.size() - 1)[0];
+                log.info("🗜️ Migração do corpo comprimido: {} e-mails migrados até o ID {}.", migrated, lastId);
+            }
+        } catch (Exception e) {
+            log.error("❌ Falha na migração do corpo comprimido após o ID {}: {}", lastId, e.getMessage(), e);
+            return;
+        }
+        if (migrated > 0) {
+            log.info("✅ Migração do corpo comprimido concluída: {} e-mails, {} → {} bytes ({}x) em {} ms.", migrated,
+                    original, compressed, String.format("%.1f", original / (double) Math.max(1, compressed)),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Preenche, página a página, o tamanho do corpo dos registros comprimidos gravados antes da coluna
+     * {@code body_length}.
+     */
+    private void fillLengths() {
+        var lastId = 0L;
+        var filled = 0L;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final List<Object[]> page = jdbcTemplate.query(LENGTH_SELECT_SQL,
+                        (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getBytes(2) }, lastId, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                final List<Object[]> updates = new ArrayList<>(page.size());
+                for (var row : page) {
+                    updates.add(new Object[] { compressor.decompress((byte[]) row[1]).length(), row[0] });
+                }
+                for (var count : jdbcTemplate.batchUpdate(LENGTH_UPDATE_SQL, updates)) {
+                    filled += Math.max(0, count);
+                }
+                lastId = (Long) page.get(page.size() - 1)[0];
+            }
+        } catch (Exception e) {
+            log.error("❌ Falha ao preencher o tamanho do corpo após o ID {}: {}", lastId, e.getMessage(), e);
+            return;
+        }
+        if (filled > 0) {
+            log.info("✅ Tamanho do corpo preenchido em {} e-mails comprimidos.", filled);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Converte o corpo do e-mail para a coluna binária {@code body_deflated}, comprimindo-o com o {@link BodyCompressor}.
+ *
+ * <p>
+ * Registrado como bean para que o Hibernate o obtenha do contexto do Spring, já com o dicionário carregado.
+ * </p>
+ */
+@Component
+@Converter
+class CompressedBodyConverter implements AttributeConverter<String, byte[]> {
+
+    private final BodyCompressor compressor;
+
+    CompressedBodyConverter(final BodyCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(final String body) {
+        return body != null ? compressor.compress(body) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(final byte[] data) {
+        return data != null ? compressor.decompress(data) : null;
+    }
+}
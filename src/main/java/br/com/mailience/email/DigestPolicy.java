@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Regras de agrupamento (digest) de vários e-mails para o mesmo destinatário em uma única mensagem.
+ *
+ * <p>
+ * O agrupamento é opcional em dois níveis: precisa estar ativo em {@code mailience.mail.digest.enabled} e o e-mail
+ * precisa ter sido criado com {@link EmailTO#isDigest()}. E-mails elegíveis do mesmo destinatário e tenant, que
+ * entraram na fila dentro da mesma janela de {@code mailience.mail.digest.window} segundos, formam um digest de até
+ * {@code mailience.mail.digest.max-items} e-mails. As janelas são alinhadas ao epoch e os e-mails de uma janela só
+ * são liberados para envio depois que ela termina (ver {@link #openSince(Instant)}), para que uma rajada não seja
+ * dividida entre ciclos do job.
+ * </p>
+ *
+ * <p>
+ * A mesma chave é usada pelo job de envio, para manter os e-mails de um digest no mesmo lote, e pelo
+ * {@link EmailServiceImpl}, para montar a mensagem.
+ * </p>
+ */
+@Component
+public class DigestPolicy {
+
+    private final boolean enabled;
+    private final long    window;
+    private final int     maxItems;
+    private final String  subject;
+
+    DigestPolicy(
+            @Value("${mailience.mail.digest.enabled}") final boolean enabled,
+            @Value("${mailience.mail.digest.window}") final long window,
+            @Value("${mailience.mail.digest.max-items}") final int maxItems,
+            @Value("${mailience.mail.digest.subject}") final String subject) {
+        this.enabled = enabled;
+        this.window = Duration.ofSeconds(Math.max(1, window)).toMillis();
+        this.maxItems = Math.max(1, maxItems);
+        this.subject = subject;
+    }
+
+    /**
+     * Retorna a chave de agrupamento do e-mail: destinatário, tenant e janela de entrada na fila.
+     *
+     * @param email e-mail a ser enviado
+     * @return chave do digest, ou {@code null} se o e-mail não for elegível
+     */
+    public Key key(final EmailTO email) {
+        return key(email.getRecipient(), email.getTenant(), email.isDigest(), email.getCreatedAt());
+    }
+
+    /**
+     * Retorna a chave de agrupamento do resumo de um e-mail, igual à de {@link #key(EmailTO)}.
+     *
+     * @param email resumo do e-mail a ser enviado
+     * @return chave do digest, ou {@code null} se o e-mail não for elegível
+     */
+    public Key key(final PendingEmail email) {
+        return key(email.recipient(), email.tenant(), email.digest(), email.createdAt());
+    }
+
+    private Key key(final String recipient, final String tenant, final boolean digest, final Instant createdAt) {
+        if (!enabled || !digest || createdAt == null) {
+            return null;
+        }
+        return new Key(recipient.strip().toLowerCase(Locale.ROOT), tenant, createdAt.toEpochMilli() / window);
+    }
+
+    /**
+     * Retorna o início da janela em andamento. E-mails de digest criados a partir desse instante ainda podem ser
+     * agrupados com os que chegarem depois e não devem ser enviados.
+     *
+     * @param now instante atual
+     * @return início da janela em aberto, ou {@code null} se o agrupamento estiver desativado
+     */
+    public Instant openSince(final Instant now) {
+        return enabled ? Instant.ofEpochMilli(now.toEpochMilli() / window * window) : null;
+    }
+
+    /**
+     * @return quantidade máxima de e-mails em um digest
+     */
+    public int maxItems() {
+        return maxItems;
+    }
+
+    /**
+     * @param count quantidade de e-mails do digest
+     * @return assunto da mensagem de digest
+     */
+    String subject(final int count) {
+        return subject.formatted(count);
+    }
+
+    /**
+     * Chave de agrupamento de um digest.
+     *
+     * @param recipient destinatário, em minúsculas
+     * @param tenant tenant de origem
+     * @param window índice da janela de entrada na fila
+     */
+    public record Key(String recipient, String tenant, long window) {
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reconcilia os contadores de e-mails por status com a contagem real da tabela {@code MF_EMAIL}.
+ *
+ * <p>
+ * Executa na inicialização da aplicação, criando os contadores que ainda não existem, e periodicamente conforme
+ * {@code mailience.counter.reconcile-delay}, corrigindo eventuais divergências (por exemplo, alterações feitas
+ * diretamente no banco).
+ * </p>
+ *
+ * <p>
+ * Os contadores são bloqueados antes da contagem: transações que alteram status aguardam o fim da reconciliação para
+ * aplicar seus incrementos, e assim nenhuma alteração é contada duas vezes ou perdida.
+ * </p>
+ */
+@Component
+@Slf4j
+class EmailCounterReconciler implements ApplicationRunner {
+
+    private final EmailRepository        repository;
+    private final EmailCounterRepository counterRepository;
+    private final TransactionTemplate    transactionTemplate;
+
+    EmailCounterReconciler(final EmailRepository repository,
+            final EmailCounterRepository counterRepository,
+            final TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.counterRepository = counterRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reconcilia os contadores na inicialização, antes de qualquer consulta de estatísticas.
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+        reconcile();
+    }
+
+    /**
+     * Recalcula os contadores a partir da tabela {@code MF_EMAIL}.
+     */
+    @Scheduled( //
+            fixedDelayString = "${mailience.counter.reconcile-delay}", //
+            initialDelayString = "${mailience.counter.reconcile-delay}", //
+            timeUnit = TimeUnit.SECONDS //
+    )
+    void reconcile() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<EmailStatus, EmailCounterTO> counters = counterRepository.findAllForUpdate().stream()
+                    .collect(Collectors.toMap(EmailCounterTO::getStatus, Function.identity(),
+                            (a, b) -> a, () -> new EnumMap<>(EmailStatus.class)));
+
+            Map<EmailStatus, Long> counts = new EnumMap<>(EmailStatus.class);
+            for (var row : repository.countByStatus()) {
+                counts.put((EmailStatus) row[0], (Long) row[1]);
+            }
+
+            for (var emailStatus : EmailStatus.values()) {
+                var total = counts.getOrDefault(emailStatus, 0L);
+                var counter = counters.get(emailStatus);
+                if (counter == null) {
+                    counterRepository.save(new EmailCounterTO(emailStatus, total));
+                } else if (counter.getTotal() != total) {
+                    log.warn("⚠️ Contador {} divergente: {} -> {}", emailStatus, counter.getTotal(), total);
+                    counter.setTotal(total);
+                }
+            }
+        });
+        log.debug("Contadores de status reconciliados.");
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repositório JPA dos contadores de e-mails por status.
+ */
+interface EmailCounterRepository extends JpaRepository<EmailCounterTO, EmailStatus> {
+
+    /**
+     * Soma {@code delta} ao contador do status informado.
+     *
+     * @param status status contabilizado
+     * @param delta valor a ser somado (negativo para subtrair)
+     * @return quantidade de contadores atualizados (0 se o contador ainda não existe)
+     */
+    @Modifying
+    @Query("""
+            UPDATE EmailCounterTO C
+            SET C.total = C.total + :delta
+            WHERE C.status = :status
+            """)
+    int add(@Param("status") final EmailStatus status, @Param("delta") final long delta);
+
+    /**
+     * Recupera todos os contadores com bloqueio de escrita, impedindo atualizações concorrentes até o fim da
+     * transação.
+     *
+     * @return contadores existentes
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT C FROM EmailCounterTO C")
+    List<EmailCounterTO> findAllForUpdate();
+
+}
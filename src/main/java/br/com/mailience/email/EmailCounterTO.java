@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static jakarta.persistence.EnumType.STRING;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Contador de e-mails por status, mantido incrementalmente nas mesmas transações que alteram o status dos e-mails.
+ *
+ * <p>
+ * Permite responder o tamanho da fila e os totais de enviados e falhos sem percorrer a tabela {@code MF_EMAIL}. Os
+ * valores são reconciliados periodicamente com a contagem real pelo {@link EmailCounterReconciler}.
+ * </p>
+ */
+@Entity
+@Table(name = "MF_EMAIL_COUNTER")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+class EmailCounterTO {
+
+    /**
+     * Status contabilizado (chave primária).
+     */
+    @Id
+    @Enumerated(STRING)
+    @Column(name = "status", updatable = false, nullable = false, length = 20)
+    private EmailStatus status;
+
+    /**
+     * Quantidade de e-mails com o status.
+     */
+    @Column(name = "total", nullable = false)
+    private long total;
+
+}
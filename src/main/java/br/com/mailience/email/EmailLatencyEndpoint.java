@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint do Actuator ({@code maillatency}) com os percentis de latência entre a entrada na fila e o envio.
+ */
+@Component
+@Endpoint(id = "maillatency")
+class EmailLatencyEndpoint {
+
+    private static final long DEFAULT_WINDOW_MINUTES = 60;
+
+    private final EmailService emailService;
+
+    EmailLatencyEndpoint(final EmailService emailService) {
+        this.emailService = emailService;
+    }
+
+    /**
+     * @param windowMinutes tamanho da janela, em minutos, terminando agora (padrão: 60)
+     * @return percentis p50, p95 e p99 por status na janela
+     */
+    @ReadOperation
+    public Map<String, Object> latency(@Nullable final Long windowMinutes) {
+        var to = Instant.now();
+        var from = to.minus(Duration.ofMinutes(windowMinutes != null ? windowMinutes : DEFAULT_WINDOW_MINUTES));
+        var report = emailService.latencyReport(from, to);
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", report.from().toString());
+        result.put("to", report.to().toString());
+        result.put("statuses", report.statuses());
+        return result;
+    }
+
+}
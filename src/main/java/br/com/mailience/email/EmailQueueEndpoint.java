@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint do Actuator ({@code mailqueue}) com as estatísticas da fila de e-mails.
+ *
+ * <p>
+ * Responde em tempo constante a partir dos contadores por status, sem percorrer a tabela {@code MF_EMAIL}.
+ * </p>
+ */
+@Component
+@Endpoint(id = "mailqueue")
+class EmailQueueEndpoint {
+
+    private final EmailService    emailService;
+    private final AdmissionPolicy admissionPolicy;
+
+    EmailQueueEndpoint(final EmailService emailService, final AdmissionPolicy admissionPolicy) {
+        this.emailService = emailService;
+        this.admissionPolicy = admissionPolicy;
+    }
+
+    /**
+     * @return tamanho da fila, totais em envio, enviados e falhos, a quantidade por status e o controle de admissão
+     */
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        var statistics = emailService.statistics();
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("backlog", statistics.backlog());
+        result.put("sending", statistics.sending());
+        result.put("sent", statistics.sent());
+        result.put("failed", statistics.failed());
+        result.put("total", statistics.total());
+        result.put("statuses", statistics.counts());
+        result.put("admission", admissionPolicy.statistics());
+        return result;
+    }
+
+}
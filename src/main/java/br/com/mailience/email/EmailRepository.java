@@ -23,7 +23,10 @@
  */
 package br.com.mailience.email;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -41,13 +44,127 @@ import org.springframework.data.repository.query.Param;
 interface EmailRepository extends JpaRepository<EmailTO, Long> {
 
     /**
-     * Recupera uma lista paginada de e-mails cujo status está contido na lista fornecida.
+     * Recupera uma lista paginada do resumo dos e-mails de um tenant cujo status está contido na lista fornecida, sem
+     * carregar o corpo. O tamanho do conteúdo usa {@code body_length} ou, nos registros ainda não migrados, o tamanho
+     * da coluna legada.
      *
-     * @param statuses Lista de status dos e-mails a serem buscados (ex: PENDING, FAILED).
+     * <p>
+     * E-mails {@code PENDING} agendados só são retornados se o instante agendado for anterior a {@code cutoff}: até lá
+     * o envio cabe ao despachante de agendamentos. E-mails {@code PENDING} de digest criados a partir de
+     * {@code digestSince} também ficam de fora, pois a janela do digest ainda está aberta.
+     * </p>
+     *
+     * @param tenant tenant de origem dos e-mails
+     * @param statuses Lista de status dos e-mails a serem buscados (ex: PENDING, RETRYING).
+     * @param cutoff limite do instante agendado dos e-mails pendentes
+     * @param digestSince início da janela de digest em aberto, ou {@code null} se o digest estiver desativado
      * @param pageable Objeto {@link Pageable} para controle de paginação e ordenação.
-     * @return Lista de e-mails com os status informados, respeitando os limites de paginação.
+     * @return Resumo dos e-mails do tenant com os status informados, respeitando os limites de paginação.
+     */
+    @Query("""
+            SELECT new br.com.mailience.email.PendingEmail(E.id, E.tenant, E.recipient, E.digest, E.createdAt,
+                   LENGTH(E.subject) + COALESCE(E.bodyLength, LENGTH(E.legacyBody), 0))
+            FROM EmailTO E
+            WHERE E.tenant = :tenant
+              AND E.status IN :statuses
+              AND (E.scheduledAt IS NULL OR E.status <> 'PENDING' OR E.scheduledAt < :cutoff)
+              AND (:digestSince IS NULL OR E.digest = false OR E.status <> 'PENDING' OR E.createdAt < :digestSince)
+            """)
+    List<PendingEmail> findDueByTenantAndStatusIn(
+            @Param("tenant") final String tenant,
+            @Param("statuses") final List<EmailStatus> statuses,
+            @Param("cutoff") final Instant cutoff,
+            @Param("digestSince") final Instant digestSince,
+            final Pageable pageable);
+
+    /**
+     * Recupera os tenants que possuem e-mails com algum dos status informados, com as mesmas regras de agendamento e
+     * de digest de {@link #findDueByTenantAndStatusIn(String, List, Instant, Instant, Pageable)}.
+     *
+     * @param statuses Lista de status dos e-mails considerados.
+     * @param cutoff limite do instante agendado dos e-mails pendentes
+     * @param digestSince início da janela de digest em aberto, ou {@code null} se o digest estiver desativado
+     * @return tenants distintos, em ordem alfabética
      */
-    List<EmailTO> findByStatusIn(final List<EmailStatus> statuses, final Pageable pageable);
+    @Query("""
+            SELECT DISTINCT E.tenant
+            FROM EmailTO E
+            WHERE E.status IN :statuses
+              AND (E.scheduledAt IS NULL OR E.status <> 'PENDING' OR E.scheduledAt < :cutoff)
+              AND (:digestSince IS NULL OR E.digest = false OR E.status <> 'PENDING' OR E.createdAt < :digestSince)
+            ORDER BY E.tenant
+            """)
+    List<String> findDueTenantsByStatusIn(
+            @Param("statuses") final List<EmailStatus> statuses,
+            @Param("cutoff") final Instant cutoff,
+            @Param("digestSince") final Instant digestSince);
+
+    /**
+     * Recupera o identificador e o instante agendado dos e-mails pendentes agendados na janela informada.
+     *
+     * @param from início da janela (inclusivo)
+     * @param to fim da janela (exclusivo)
+     * @return pares {@code [Long, Instant]} com o ID e o instante agendado
+     */
+    @Query("""
+            SELECT E.id, E.scheduledAt
+            FROM EmailTO E
+            WHERE E.status = 'PENDING'
+              AND E.scheduledAt >= :from
+              AND E.scheduledAt < :to
+            """)
+    List<Object[]> findScheduled(@Param("from") final Instant from, @Param("to") final Instant to);
+
+    /**
+     * Recupera o instante de entrada na fila do e-mail sem agendamento mais antigo com algum dos status informados.
+     *
+     * <p>
+     * Separada de {@link #findOldestDueScheduledAt(List, Instant)} para que cada consulta aproveite um índice, sem
+     * {@code COALESCE} nem {@code OR}: esta percorre {@code idx_email_status_created_at}.
+     * </p>
+     *
+     * @param statuses Lista de status dos e-mails considerados.
+     * @return instante de entrada na fila do e-mail mais antigo, ou {@code null} se não houver e-mails
+     */
+    @Query("""
+            SELECT MIN(E.createdAt)
+            FROM EmailTO E
+            WHERE E.status IN :statuses
+              AND E.scheduledAt IS NULL
+            """)
+    Instant findOldestUnscheduledCreatedAt(@Param("statuses") final List<EmailStatus> statuses);
+
+    /**
+     * Recupera o instante agendado mais antigo entre os e-mails vencidos com algum dos status informados, pelo índice
+     * {@code idx_email_scheduled_at}. E-mails agendados para depois de {@code now} são ignorados, pois ainda não estão
+     * atrasados.
+     *
+     * @param statuses Lista de status dos e-mails considerados.
+     * @param now instante atual
+     * @return instante agendado do e-mail vencido mais antigo, ou {@code null} se não houver e-mails
+     */
+    @Query("""
+            SELECT MIN(E.scheduledAt)
+            FROM EmailTO E
+            WHERE E.status IN :statuses
+              AND E.scheduledAt <= :now
+            """)
+    Instant findOldestDueScheduledAt(@Param("statuses") final List<EmailStatus> statuses,
+            @Param("now") final Instant now);
+
+    /**
+     * Conta os e-mails pendentes agendados para depois do instante informado.
+     *
+     * @param now instante atual
+     * @return quantidade de e-mails pendentes com envio agendado no futuro
+     */
+    @Query("""
+            SELECT COUNT(E)
+            FROM EmailTO E
+            WHERE E.status = 'PENDING'
+              AND E.scheduledAt > :now
+            """)
+    long countScheduledAfter(@Param("now") final Instant now);
 
     /**
      * Atualiza os campos de tentativas de envio e status de envio de um e-mail específico.
@@ -57,6 +174,8 @@ interface EmailRepository extends JpaRepository<EmailTO, Long> {
      * <ul>
      * <li>{@code attempts}: Número de tentativas de envio falhas.</li>
      * <li>{@code status}: Status de envio do e-mail.</li>
+     * <li>{@code firstAttemptAt}, {@code lastAttemptAt} e {@code sentAt}: Instantes das tentativas e do envio.</li>
+     * <li>{@code smtpResponse}: Resposta do servidor SMTP ao aceitar a mensagem.</li>
      * </ul>
      * </p>
      *
@@ -69,11 +188,80 @@ interface EmailRepository extends JpaRepository<EmailTO, Long> {
                      UPDATE EmailTO E
                      SET E.attempts = :#{#email.attempts},
                          E.status = :#{#email.status},
-                         E.jobExecutionId = :#{#email.jobExecutionId}
+                         E.jobExecutionId = :#{#email.jobExecutionId},
+                         E.firstAttemptAt = :#{#email.firstAttemptAt},
+                         E.lastAttemptAt = :#{#email.lastAttemptAt},
+                         E.sentAt = :#{#email.sentAt},
+                         E.smtpResponse = :#{#email.smtpResponse}
                      WHERE E.id = :#{#email.id}
                     """)
     void update(@Param("email") final EmailTO email);
 
+    /**
+     * Reserva para um lote os e-mails informados que ainda estão no status de origem, passando-os para
+     * {@link EmailStatus#SENDING}. E-mails já reservados por outro lote ou com outro status não são alterados.
+     *
+     * @param ids identificadores dos e-mails do lote
+     * @param from status de origem ({@code PENDING} ou {@code RETRYING})
+     * @param jobExecutionId identificador do job que reserva os e-mails
+     * @return quantidade de e-mails reservados
+     */
+    @Modifying
+    @Query("""
+            UPDATE EmailTO E
+            SET E.status = 'SENDING',
+                E.jobExecutionId = :jobId
+            WHERE E.id IN :ids
+              AND E.status = :from
+            """)
+    int claim(
+            @Param("ids") final Collection<Long> ids,
+            @Param("from") final EmailStatus from,
+            @Param("jobId") final String jobExecutionId);
+
+    /**
+     * Retorna quais dos e-mails informados estão reservados pelo job, após {@link #claim}.
+     *
+     * @param ids identificadores dos e-mails do lote
+     * @param jobExecutionId identificador do job
+     * @return identificadores dos e-mails reservados pelo job
+     */
+    @Query("""
+            SELECT E.id
+            FROM EmailTO E
+            WHERE E.id IN :ids
+              AND E.status = 'SENDING'
+              AND E.jobExecutionId = :jobId
+            """)
+    List<Long> findClaimed(@Param("ids") final Collection<Long> ids, @Param("jobId") final String jobExecutionId);
+
+    /**
+     * Devolve ao status informado os e-mails que ficaram em {@link EmailStatus#SENDING} e cujo número de tentativas
+     * está na faixa informada, contando a transmissão interrompida como uma tentativa.
+     *
+     * @param status novo status ({@code RETRYING} ou {@code FAILED})
+     * @param minAttempts número mínimo de tentativas anteriores (inclusivo)
+     * @param maxAttempts número máximo de tentativas anteriores (exclusivo)
+     * @param now instante da recuperação, registrado como última tentativa
+     * @return quantidade de e-mails recuperados
+     */
+    @Modifying
+    @Query("""
+            UPDATE EmailTO E
+            SET E.status = :status,
+                E.attempts = E.attempts + 1,
+                E.firstAttemptAt = COALESCE(E.firstAttemptAt, :now),
+                E.lastAttemptAt = :now
+            WHERE E.status = 'SENDING'
+              AND E.attempts >= :minAttempts
+              AND E.attempts < :maxAttempts
+            """)
+    int recoverSending(
+            @Param("status") final EmailStatus status,
+            @Param("minAttempts") final int minAttempts,
+            @Param("maxAttempts") final int maxAttempts,
+            @Param("now") final Instant now);
+
     /**
      * Restaura e-mails falhos para o status informado, atualizando o número de tentativas.
      *
@@ -84,6 +272,7 @@ interface EmailRepository extends JpaRepository<EmailTO, Long> {
      * @param attempts novo número de tentativas a ser definido
      * @param status novo status que os e-mails receberão (normalmente {@code RETRYING})
      * @param jobExecutionId identificador do job cujos e-mails serão atualizados
+     * @return quantidade de e-mails restaurados
      */
     @Modifying
     @Query("""
@@ -93,9 +282,38 @@ interface EmailRepository extends JpaRepository<EmailTO, Long> {
             WHERE E.jobExecutionId = :jobId
               AND E.status = 'FAILED'
             """)
-    void restoreToRetryingIfFailed(
+    int restoreToRetryingIfFailed(
             @Param("attempts") final int attempts,
             @Param("status") final EmailStatus status,
             @Param("jobId") final String jobExecutionId);
 
+    /**
+     * Conta os e-mails agrupados por status, usado na reconciliação dos contadores.
+     *
+     * @return pares {@code [EmailStatus, Long]} com a quantidade de e-mails de cada status
+     */
+    @Query("""
+            SELECT E.status, COUNT(E)
+            FROM EmailTO E
+            GROUP BY E.status
+            """)
+    List<Object[]> countByStatus();
+
+    /**
+     * Percorre, em fluxo, os instantes de entrada na fila e da última tentativa dos e-mails cuja última tentativa
+     * ocorreu na janela informada.
+     *
+     * @param from início da janela (inclusivo)
+     * @param to fim da janela (exclusivo)
+     * @return triplas {@code [EmailStatus, Instant createdAt, Instant lastAttemptAt]}
+     */
+    @Query("""
+            SELECT E.status, E.createdAt, E.lastAttemptAt
+            FROM EmailTO E
+            WHERE E.lastAttemptAt >= :from
+              AND E.lastAttemptAt < :to
+              AND E.createdAt IS NOT NULL
+            """)
+    Stream<Object[]> streamLatencies(@Param("from") final Instant from, @Param("to") final Instant to);
+
 }
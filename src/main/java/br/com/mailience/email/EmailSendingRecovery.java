@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static br.com.mailience.email.EmailStatus.FAILED;
+import static br.com.mailience.email.EmailStatus.RETRYING;
+import static br.com.mailience.email.EmailStatus.SENDING;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recupera, na inicialização, os e-mails interrompidos durante a transmissão.
+ *
+ * <p>
+ * Cada e-mail é marcado como enviado assim que o servidor SMTP aceita a sua mensagem. Os que ainda estão em
+ * {@link EmailStatus#SENDING} quando a aplicação inicia não foram aceitos antes de uma parada abrupta (ou da expiração
+ * do prazo de encerramento do {@code senderExecutor}) e voltam para {@link EmailStatus#RETRYING}, contando a
+ * transmissão interrompida como uma tentativa; ao atingir {@code mailience.mail.max.attempts}, vão para
+ * {@link EmailStatus#FAILED}. Assim, apenas o que não foi aceito é reenviado.
+ * </p>
+ *
+ * <p>
+ * Executa antes do primeiro ciclo do job de envio, que só é agendado quando a aplicação fica pronta. Pressupõe uma
+ * única instância da aplicação por banco.
+ * </p>
+ */
+@Component
+@Slf4j
+class EmailSendingRecovery implements ApplicationRunner {
+
+    private final int                    maxAttempts;
+    private final EmailRepository        repository;
+    private final EmailCounterRepository counterRepository;
+    private final TransactionTemplate    transactionTemplate;
+
+    EmailSendingRecovery(@Value("${mailience.mail.max.attempts}") final int maxAttempts,
+            final EmailRepository repository,
+            final EmailCounterRepository counterRepository,
+            final TransactionTemplate transactionTemplate) {
+        this.maxAttempts = maxAttempts;
+        this.repository = repository;
+        this.counterRepository = counterRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Devolve à fila os e-mails que ficaram em transmissão.
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var now = Instant.now();
+            var retrying = repository.recoverSending(RETRYING, 0, maxAttempts - 1, now);
+            var failed = repository.recoverSending(FAILED, maxAttempts - 1, Integer.MAX_VALUE, now);
+            if (retrying + failed == 0) {
+                return;
+            }
+
+            // contadores atualizados na ordem dos status, como nas demais transações
+            counterRepository.add(RETRYING, retrying);
+            counterRepository.add(SENDING, -(retrying + failed));
+            counterRepository.add(FAILED, failed);
+            log.warn("♻️ {} e-mails interrompidos durante a transmissão voltaram para a fila ({} para reprocessamento, "
+                    + "{} falhos por atingir o limite de tentativas).", retrying + failed, retrying, failed);
+        });
+    }
+
+}
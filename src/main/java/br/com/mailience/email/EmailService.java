@@ -23,7 +23,11 @@
  */
 package br.com.mailience.email;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Serviço responsável pelo gerenciamento de e-mails.
@@ -35,21 +39,93 @@ import java.util.List;
 public interface EmailService {
 
     /**
-     * Busca os e-mails com status pendente ou em reprocessamento, usando paginação.
+     * Busca o resumo dos e-mails de um tenant com os status informados, em ordem de chegada, sem carregar o corpo.
      *
+     * <p>
+     * E-mails pendentes com envio agendado ficam de fora até o fim do período de tolerância
+     * ({@code mailience.schedule.grace}) após o instante agendado, pois são enviados pelo despachante de agendamentos.
+     * E-mails pendentes de digest ficam de fora até o fim da janela em que foram criados, para que o digest saia
+     * completo e de uma só vez (ver {@link DigestPolicy}).
+     * </p>
+     *
+     * @param tenant tenant de origem dos e-mails
+     * @param limit quantidade máxima de e-mails retornados
      * @param statuses status a serem considerados na busca
-     * @return lista paginada de e-mails a serem processados
+     * @return resumo de até {@code limit} e-mails do tenant a serem processados
+     */
+    List<PendingEmail> findPending(final String tenant, final int limit, final EmailStatus... statuses);
+
+    /**
+     * Busca os tenants que possuem e-mails com os status informados.
+     *
+     * @param statuses status a serem considerados na busca
+     * @return tenants com e-mails a serem processados
+     */
+    List<String> findPendingTenants(final EmailStatus... statuses);
+
+    /**
+     * Busca os e-mails pendentes com envio agendado na janela informada, sem carregar o conteúdo.
+     *
+     * @param from início da janela (inclusivo)
+     * @param to fim da janela (exclusivo)
+     * @return instante agendado de cada e-mail, por ID
+     */
+    Map<Long, Instant> findScheduled(final Instant from, final Instant to);
+
+    /**
+     * Busca os e-mails pelos IDs, em ordem de ID.
+     *
+     * @param ids identificadores dos e-mails
+     * @return e-mails encontrados
      */
-    List<EmailTO> findPending(final EmailStatus... statuses);
+    List<EmailTO> findAllById(final Collection<Long> ids);
+
+    /**
+     * Retorna as estatísticas da fila a partir dos contadores mantidos por status, sem percorrer a tabela de e-mails.
+     *
+     * @return quantidade de e-mails por status, tamanho da fila, enviados e falhos
+     */
+    EmailStatistics statistics();
+
+    /**
+     * Calcula os percentis de latência entre a entrada na fila e a última tentativa de envio dos e-mails cuja última
+     * tentativa ocorreu na janela informada, agrupados por status. Para e-mails {@link EmailStatus#SENT}, corresponde
+     * à latência fim a fim até a entrega ao servidor SMTP.
+     *
+     * @param from início da janela (inclusivo)
+     * @param to fim da janela (exclusivo)
+     * @return percentis p50, p95 e p99 por status
+     */
+    LatencyReport latencyReport(final Instant from, final Instant to);
 
     /**
      * Salva um e-mail no banco de dados.
      *
+     * <p>
+     * Novos e-mails estão sujeitos ao controle de admissão: com a fila sobrecarregada, podem ser recusados, aguardar a
+     * carga baixar ou ser rebaixados para o tenant de segundo plano, conforme {@code mailience.admission.action}.
+     * </p>
+     *
      * @param email entidade a ser persistida
      * @return e-mail salvo com ID e timestamps atualizados
+     * @throws EmailRejectedException se o e-mail for recusado pelo controle de admissão
      */
     EmailTO save(final EmailTO email);
 
+    /**
+     * Insere novos e-mails no banco de dados em lote, com um único {@code INSERT} em batch JDBC, sem passar pelo
+     * contexto de persistência. Indicado para cargas em massa; os IDs gerados não são atribuídos às entidades.
+     *
+     * <p>
+     * O lote é submetido inteiro ao controle de admissão, como em {@link #save(EmailTO)}.
+     * </p>
+     *
+     * @param emails e-mails a serem inseridos
+     * @return quantidade de e-mails inseridos
+     * @throws EmailRejectedException se o lote for recusado pelo controle de admissão
+     */
+    int saveAll(final List<EmailTO> emails);
+
     /**
      * Realiza o envio em lote de e-mails utilizando o {@link org.springframework.mail.javamail.JavaMailSenderImpl}.
      *
@@ -61,6 +137,12 @@ public interface EmailService {
      * </p>
      *
      * <p>
+     * Com o modo campanha habilitado ({@code mailience.mail.campaign.max-recipients} maior que 1), e-mails com o mesmo
+     * assunto e corpo são agrupados em uma única mensagem com vários destinatários, reduzindo os bytes transmitidos e
+     * as idas e voltas SMTP. O status continua sendo registrado por e-mail.
+     * </p>
+     *
+     * <p>
      * O envio em lote é mais eficiente, escalável e apropriado para sistemas que disparam notificações em massa. Em
      * caso de falhas parciais, os e-mails com erro são identificados e marcados como {@link EmailStatus#RETRYING} ou
      * {@link EmailStatus#FAILED}, de acordo com a quantidade de tentativas. Já os e-mails enviados com sucesso são
@@ -68,14 +150,27 @@ public interface EmailService {
      * </p>
      *
      * <p>
+     * Antes da transmissão, os e-mails do lote são reservados em {@link EmailStatus#SENDING}; e-mails já reservados por
+     * outro lote são ignorados. Cada mensagem é marcada como enviada assim que o servidor SMTP a aceita, com a resposta
+     * do servidor, e não apenas ao fim do lote. Se a aplicação parar durante a transmissão, apenas os e-mails ainda em
+     * {@link EmailStatus#SENDING} são reenviados.
+     * </p>
+     *
+     * <p>
+     * Os e-mails são reservados e as mensagens preparadas na thread chamadora. Com um transporte assíncrono, nenhuma
+     * thread fica bloqueada durante a sessão SMTP: o resultado é registrado quando a sessão termina.
+     * </p>
+     *
+     * <p>
      * O uso do {@code JavaMailSender} com arrays de {@code MimeMessage} é altamente recomendado para maximizar o
      * throughput do sistema de envio, reduzir carga sobre o servidor SMTP e manter a consistência dos envios.
      * </p>
      *
      * @param jobExecutionId Identificador do lote de envio (UUID do job que processou este e-mail)
      * @param batch lista de e-mails a serem enviados
-     * @throws RuntimeException em caso de erro crítico ao criar ou enviar as mensagens
+     * @return etapa concluída depois que o resultado do envio for registrado, ou com a exceção do envio
+     * @throws RuntimeException em caso de erro crítico ao reservar os e-mails ou criar as mensagens
      */
-    void send(final String jobExecutionId, final List<EmailTO> batch);
+    CompletionStage<Void> send(final String jobExecutionId, final List<EmailTO> batch);
 
 }
@@ -24,19 +24,45 @@
 package br.com.mailience.email;
 
 import static br.com.mailience.email.EmailStatus.FAILED;
+import static br.com.mailience.email.EmailStatus.PENDING;
 import static br.com.mailience.email.EmailStatus.RETRYING;
+import static br.com.mailience.email.EmailStatus.SENDING;
 import static br.com.mailience.email.EmailStatus.SENT;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -46,7 +72,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionCallbackWithoutResult;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.mailience.dkim.DkimSigner;
+import br.com.mailience.smtp.MailTransport;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -55,34 +85,69 @@ import lombok.extern.slf4j.Slf4j;
  *
  * <p>
  * Responsavel por buscar e-mails pendentes no repositório, persistir novos registros e realizar o envio por meio do
- * {@link JavaMailSender}. Implementa a logica de tratamento para marcar e-mails como enviados ou em reprocessamento em
- * caso de falha.
+ * {@link MailTransport} configurado, usando o {@link JavaMailSender} para criar as mensagens. Implementa a logica de
+ * tratamento para marcar e-mails como enviados ou em reprocessamento em caso de falha.
  * </p>
  */
 @Service
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
-    private static final String       HEADER_EMAIL_ID = "X-Email-ID";
-    private final int                 pageSize;
-    private final String              from;
-    private final int                 maxAttempts;
-    private final JavaMailSender      mailSender;
-    private final EmailRepository     repository;
-    private final TransactionTemplate transactionTemplate;
+    private static final String             HEADER_EMAIL_ID  = "X-Email-ID";
+    private static final int                MAX_REPLY_LENGTH = 255;
+    private static final String             INSERT_SQL       = """
+            INSERT INTO MF_EMAIL (recipient, subject, body_deflated, body_length, status, attempts, tenant, digest,
+                                  scheduled_at, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private final String                    from;
+    private final int                       maxAttempts;
+    private final int                       campaignMaxRecipients;
+    private final JavaMailSender            mailSender;
+    private final MailTransport             transport;
+    private final DkimSigner                dkimSigner;
+    private final EmailRepository           repository;
+    private final EmailCounterRepository    counterRepository;
+    private final TransactionTemplate       transactionTemplate;
+    private final JdbcTemplate              jdbcTemplate;
+    private final AdmissionPolicy           admissionPolicy;
+    private final DigestPolicy              digestPolicy;
+    private final BodyCompressor            bodyCompressor;
+    private final Duration                  grace;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor                  senderExecutor;
 
-    EmailServiceImpl(@Value("${mailience.executor.work-queue}") final int pageSize,
-            @Value("${mailience.mail.from}") final String from,
+    EmailServiceImpl(@Value("${mailience.mail.from}") final String from,
             @Value("${mailience.mail.max.attempts}") final int maxAttempts,
+            @Value("${mailience.mail.campaign.max-recipients}") final int campaignMaxRecipients,
             final JavaMailSender mailSender,
+            final MailTransport transport,
+            final ObjectProvider<DkimSigner> dkimSigner,
             final EmailRepository repository,
-            final TransactionTemplate transactionTemplate) {
-        this.pageSize = pageSize;
+            final EmailCounterRepository counterRepository,
+            final TransactionTemplate transactionTemplate,
+            final JdbcTemplate jdbcTemplate,
+            final AdmissionPolicy admissionPolicy,
+            final DigestPolicy digestPolicy,
+            final BodyCompressor bodyCompressor,
+            @Value("${mailience.schedule.grace}") final long grace,
+            final ApplicationEventPublisher eventPublisher,
+            @Qualifier("senderExecutor") final Executor senderExecutor) {
         this.from = from;
         this.maxAttempts = maxAttempts;
+        this.campaignMaxRecipients = Math.max(1, campaignMaxRecipients);
         this.mailSender = mailSender;
+        this.transport = transport;
+        this.dkimSigner = dkimSigner.getIfAvailable();
         this.repository = repository;
+        this.counterRepository = counterRepository;
         this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.admissionPolicy = admissionPolicy;
+        this.digestPolicy = digestPolicy;
+        this.bodyCompressor = bodyCompressor;
+        this.grace = Duration.ofSeconds(grace);
+        this.eventPublisher = eventPublisher;
+        this.senderExecutor = senderExecutor;
     }
 
     /**
@@ -90,53 +155,325 @@ public class EmailServiceImpl implements EmailService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<EmailTO> findPending(final EmailStatus... statuses) {
-        var pageRequest = PageRequest.of(0, pageSize, Sort.by("id").ascending());
-        return repository.findByStatusIn(Arrays.asList(statuses), pageRequest);
+    public List<PendingEmail> findPending(final String tenant, final int limit, final EmailStatus... statuses) {
+        var pageRequest = PageRequest.of(0, limit, Sort.by("id").ascending());
+        var now = Instant.now();
+        return repository.findDueByTenantAndStatusIn(tenant, Arrays.asList(statuses), now.minus(grace),
+                digestPolicy.openSince(now), pageRequest);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public List<String> findPendingTenants(final EmailStatus... statuses) {
+        var now = Instant.now();
+        return repository.findDueTenantsByStatusIn(Arrays.asList(statuses), now.minus(grace),
+                digestPolicy.openSince(now));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Instant> findScheduled(final Instant from, final Instant to) {
+        final Map<Long, Instant> scheduled = new HashMap<>();
+        repository.findScheduled(from, to).forEach(row -> scheduled.put((Long) row[0], (Instant) row[1]));
+        return scheduled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmailTO> findAllById(final Collection<Long> ids) {
+        return repository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(EmailTO::getId))
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EmailStatistics statistics() {
+        final Map<EmailStatus, Long> counts = new EnumMap<>(EmailStatus.class);
+        counterRepository.findAll().forEach(counter -> counts.put(counter.getStatus(), counter.getTotal()));
+        return new EmailStatistics(counts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LatencyReport latencyReport(final Instant from, final Instant to) {
+        final Map<EmailStatus, Histogram> histograms = new EnumMap<>(EmailStatus.class);
+        try (var rows = repository.streamLatencies(from, to)) {
+            rows.forEach(row -> {
+                var latency = Duration.between((Instant) row[1], (Instant) row[2]).toMillis();
+                histograms.computeIfAbsent((EmailStatus) row[0], status -> new Histogram(3))
+                        .recordValue(Math.max(0, latency));
+            });
+        }
+        return LatencyReport.of(from, to, histograms);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Novos e-mails passam antes pelo {@link AdmissionPolicy}, fora da transacao, para que uma espera por carga nao
+     * retenha conexoes do banco.
+     * </p>
+     */
+    @Override
     public EmailTO save(final EmailTO email) {
-        return repository.save(email);
+        var isNew = email.getId() == null;
+        if (isNew) {
+            admissionPolicy.admit(List.of(email));
+        }
+        return transactionTemplate.execute(status -> {
+            applyDefaults(email, Instant.now());
+            var saved = repository.save(email);
+            if (isNew) {
+                counterRepository.add(saved.getStatus(), 1);
+            }
+            publishScheduled(List.of(saved));
+            return saved;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Como o ID e gerado por {@code IDENTITY}, o Hibernate nao agrupa os inserts em batch; por isso a insercao e feita
+     * diretamente via {@link JdbcTemplate}, na mesma transacao que atualiza os contadores por status. O lote inteiro
+     * passa antes pelo {@link AdmissionPolicy}, fora da transacao.
+     * </p>
+     */
+    @Override
+    public int saveAll(final List<EmailTO> emails) {
+        if (emails.isEmpty()) {
+            return 0;
+        }
+        admissionPolicy.admit(emails);
+        var now = Instant.now();
+        final Map<EmailStatus, Integer> added = new EnumMap<>(EmailStatus.class);
+        for (var email : emails) {
+            applyDefaults(email, now);
+            added.merge(email.getStatus(), 1, Integer::sum);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> insert(emails, added));
+        return emails.size();
+    }
+
+    /**
+     * Insere os e-mails em um unico batch JDBC e incrementa os contadores por status. O corpo e comprimido pelo
+     * {@link BodyCompressor}, no mesmo formato gravado pelo {@link CompressedBodyConverter}.
+     *
+     * @param emails e-mails a serem inseridos
+     * @param added quantidade de e-mails por status
+     */
+    private void insert(final List<EmailTO> emails, final Map<EmailStatus, Integer> added) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, emails, emails.size(), (ps, email) -> {
+            ps.setString(1, email.getRecipient());
+            ps.setString(2, email.getSubject());
+            ps.setBytes(3, bodyCompressor.compress(email.getBody()));
+            ps.setObject(4, email.getBodyLength(), Types.INTEGER);
+            ps.setString(5, email.getStatus().name());
+            ps.setInt(6, email.getAttempts());
+            ps.setString(7, email.getTenant());
+            ps.setBoolean(8, email.isDigest());
+            ps.setObject(9, email.getScheduledAt() != null
+                    ? OffsetDateTime.ofInstant(email.getScheduledAt(), ZoneOffset.UTC)
+                    : null, Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(10, OffsetDateTime.ofInstant(email.getCreatedAt(), ZoneOffset.UTC));
+        });
+        added.forEach(counterRepository::add);
+        publishScheduled(emails);
+    }
+
+    /**
+     * Publica um {@link EmailScheduledEvent} se algum dos e-mails gravados tiver envio agendado.
+     *
+     * @param emails e-mails gravados na transacao corrente
+     */
+    private void publishScheduled(final List<EmailTO> emails) {
+        emails.stream()
+                .map(EmailTO::getScheduledAt)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .ifPresent(earliest -> eventPublisher.publishEvent(new EmailScheduledEvent(earliest)));
+    }
+
+    /**
+     * Preenche o tenant padrao e o instante de entrada na fila dos e-mails que nao os informaram, e o tamanho do corpo
+     * usado pelo job de envio para estimar a memoria dos lotes.
+     *
+     * @param email e-mail a ser persistido
+     * @param now instante atual
+     */
+    private void applyDefaults(final EmailTO email, final Instant now) {
+        if (email.getTenant() == null) {
+            email.setTenant(EmailTO.DEFAULT_TENANT);
+        }
+        if (email.getCreatedAt() == null) {
+            email.setCreatedAt(now);
+        }
+        if (email.getBody() != null) {
+            email.setBodyLength(email.getBody().length());
+        }
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>
+     * Com o modo campanha habilitado, e-mails do lote com o mesmo assunto e corpo sao agrupados em uma unica
+     * {@link MimeMessage} com varios destinatarios, limitada a {@code mailience.mail.campaign.max-recipients}
+     * destinatarios por mensagem. Assim o corpo MIME e transmitido uma unica vez no DATA, com um RCPT TO por
+     * destinatario.
+     * </p>
+     *
+     * <p>
+     * Antes disso, e-mails elegiveis ao digest ({@link DigestPolicy}) do mesmo destinatario e janela sao agrupados em
+     * uma unica mensagem. O status dos e-mails de cada mensagem e gravado em uma unica transacao, de modo que os
+     * e-mails de um digest sao marcados como enviados juntos.
+     * </p>
+     *
+     * <p>
+     * Os e-mails aceitos pelo servidor sao marcados como enviados durante a transmissao, pelo
+     * {@link MailTransport.AcceptanceListener}. Ao final da sessao, os e-mails reservados que nao foram aceitos voltam
+     * para reprocessamento. As duas etapas sao executadas no {@code senderExecutor}, por meio do
+     * {@link MailTransport#sendAsync}.
+     * </p>
      */
     @Override
     @CircuitBreaker(name = "emailServiceSend", fallbackMethod = "sendFallback")
-    public void send(final String jobExecutionId, final List<EmailTO> batch) {
-        final Set<String> failedIds = new HashSet<>();
+    public CompletionStage<Void> send(final String jobExecutionId, final List<EmailTO> batch) {
+        var claimed = claim(jobExecutionId, batch);
+        if (claimed.isEmpty()) {
+            log.info("⚠️ Os {} e-mails do lote já foram reservados por outro envio.", batch.size());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final Map<MimeMessage, List<EmailTO>> deliveries;
         try {
-            var messages = batch.stream()
-                    .map(this::toMimeMessage)
-                    .toArray(MimeMessage[]::new);
+            deliveries = toDeliveries(claimed);
+        } catch (RuntimeException e) {
+            for (var email : claimed) {
+                markDelivered(jobExecutionId, List.of(email), Set.of(email.getId()), null);
+            }
+            throw e;
+        }
+        var messages = deliveries.keySet().toArray(MimeMessage[]::new);
 
-            mailSender.send(messages);
-            log.info("✅ {} e-mails enviados com sucesso.", batch.size());
+        // O listener e a conclusao sao executados em sequencia pelo transporte, sem concorrencia entre si.
+        final Map<MimeMessage, String> accepted = new HashMap<>();
+        final Set<MimeMessage> recorded = new HashSet<>();
+        CompletionStage<Void> transmission;
+        try {
+            transmission = transport.sendAsync((message, reply) -> {
+                var group = deliveries.get(message);
+                if (group == null) {
+                    return;
+                }
+                accepted.put(message, reply);
+                try {
+                    markDelivered(jobExecutionId, group, Set.of(), reply);
+                    recorded.add(message);
+                } catch (RuntimeException e) {
+                    log.error("❌ Falha ao registrar o envio dos e-mails {}; nova tentativa ao final do lote: {}",
+                            ids(group), e.getMessage());
+                }
+            }, senderExecutor, messages);
+        } catch (RuntimeException e) {
+            transmission = CompletableFuture.failedFuture(e);
+        }
 
-        } catch (MailSendException mse) {
-            mse.getFailedMessages().keySet().stream()
-                    .map(msg -> extractHeader((MimeMessage) msg, HEADER_EMAIL_ID))
-                    .filter(Objects::nonNull)
-                    .forEach(failedIds::add);
+        return transmission.handleAsync((ignored, ex) -> {
+            var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            final Set<Long> failedIds = new HashSet<>();
+            if (cause instanceof MailSendException mse) {
+                mse.getFailedMessages().forEach((msg, failure) -> {
+                    var group = deliveries.get(msg);
+                    if (group != null) {
+                        failedIds.addAll(failedIds(group, failure));
+                    }
+                });
+                log.error("❌ Alguns e-mails falharam no envio: {}", failedIds);
+            }
 
-            log.error("❌ Alguns e-mails falharam no envio: {}", failedIds);
-            throw mse;
-        } finally {
-            for (var email : batch) {
-                email.setJobExecutionId(jobExecutionId);
-                if (failedIds.contains(email.getId().toString())) {
-                    markAsFailed(email);
+            for (var delivery : deliveries.entrySet()) {
+                var message = delivery.getKey();
+                var group = delivery.getValue();
+                if (recorded.contains(message)) {
+                    continue;
+                }
+                if (accepted.containsKey(message)) {
+                    markDelivered(jobExecutionId, group, Set.of(), accepted.get(message));
                 } else {
-                    markAsSent(email);
+                    var partial = group.stream().anyMatch(email -> failedIds.contains(email.getId()));
+                    markDelivered(jobExecutionId, group, partial ? failedIds : Set.copyOf(ids(group)), null);
                 }
             }
-        }
+
+            if (cause != null) {
+                throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+            }
+            log.info("✅ {} e-mails enviados com sucesso em {} mensagem(ns).", claimed.size(), messages.length);
+            return null;
+        }, senderExecutor);
+    }
+
+    /**
+     * Reserva os e-mails do lote em {@link EmailStatus#SENDING}, em uma unica transacao, antes da transmissao. Apenas
+     * os e-mails ainda pendentes ou em reprocessamento sao reservados, de modo que um e-mail nunca e transmitido por
+     * dois lotes ao mesmo tempo. Os contadores sao ajustados com as quantidades efetivamente reservadas, em ordem do
+     * enum.
+     *
+     * @param jobExecutionId identificador do job que processa o lote
+     * @param batch e-mails do lote
+     * @return e-mails reservados, ja com o status {@link EmailStatus#SENDING}
+     */
+    private List<EmailTO> claim(final String jobExecutionId, final List<EmailTO> batch) {
+        return transactionTemplate.execute(status -> {
+            var ids = ids(batch);
+            var pending = repository.claim(ids, PENDING, jobExecutionId);
+            var retrying = repository.claim(ids, RETRYING, jobExecutionId);
+            if (pending + retrying == 0) {
+                return List.of();
+            }
+            if (pending > 0) {
+                counterRepository.add(PENDING, -pending);
+            }
+            if (retrying > 0) {
+                counterRepository.add(RETRYING, -retrying);
+            }
+            counterRepository.add(SENDING, pending + retrying);
+
+            var claimedIds = new HashSet<>(repository.findClaimed(ids, jobExecutionId));
+            final List<EmailTO> claimed = new ArrayList<>(claimedIds.size());
+            for (var email : batch) {
+                if (claimedIds.contains(email.getId())) {
+                    email.setStatus(SENDING);
+                    email.setJobExecutionId(jobExecutionId);
+                    claimed.add(email);
+                }
+            }
+            return claimed;
+        });
+    }
+
+    private static List<Long> ids(final List<EmailTO> emails) {
+        return emails.stream().map(EmailTO::getId).toList();
     }
 
     /**
@@ -144,27 +481,124 @@ public class EmailServiceImpl implements EmailService {
      *
      * @param batch lote de e-mails que não puderam ser enviados
      * @param t exceção que causou o fallback
+     * @return etapa concluída após a restauração dos e-mails falhos
      */
-    public void sendFallback(final String jobExecutionId, final List<EmailTO> batch, final Throwable t) {
+    public CompletionStage<Void> sendFallback(final String jobExecutionId, final List<EmailTO> batch,
+            final Throwable t) {
         log.info("CircuitBreaker acionado - envio de e-mails temporariamente bloqueado");
         restoreToRetryingIfFailed(jobExecutionId);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
-     * Converte um {@link EmailTO} em um {@link MimeMessage} pronto para envio.
+     * Agrupa os e-mails do lote por conteudo identico (assunto e corpo) e converte cada grupo em uma
+     * {@link MimeMessage}.
+     *
+     * <p>
+     * Cada grupo respeita o limite de {@code campaignMaxRecipients} destinatarios; grupos maiores sao divididos em
+     * varias mensagens. A ordem original do lote e preservada.
+     * </p>
      *
-     * @param email e-mail a ser convertido
+     * @param batch e-mails a serem convertidos
+     * @return mapa de cada mensagem para os e-mails que ela entrega
+     */
+    private Map<MimeMessage, List<EmailTO>> toDeliveries(final List<EmailTO> batch) {
+        final Map<MimeMessage, List<EmailTO>> deliveries = new LinkedHashMap<>();
+        final List<EmailTO> individual = new ArrayList<>(batch.size());
+        final Map<DigestPolicy.Key, List<EmailTO>> digests = new LinkedHashMap<>();
+        for (var email : batch) {
+            var key = digestPolicy.key(email);
+            if (key == null) {
+                individual.add(email);
+            } else {
+                digests.computeIfAbsent(key, k -> new ArrayList<>()).add(email);
+            }
+        }
+        for (var group : digests.values()) {
+            for (int i = 0; i < group.size(); i += digestPolicy.maxItems()) {
+                var chunk = group.subList(i, Math.min(i + digestPolicy.maxItems(), group.size()));
+                if (chunk.size() == 1) {
+                    individual.add(chunk.get(0));
+                } else {
+                    deliveries.put(toDigestMessage(chunk), chunk);
+                }
+            }
+        }
+
+        var contents = individual.stream()
+                .collect(Collectors.groupingBy(email -> new Content(email.getSubject(), email.getBody()),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        for (var group : contents.values()) {
+            for (var chunk : campaigns(group)) {
+                deliveries.put(toMimeMessage(chunk), chunk);
+            }
+        }
+        return deliveries;
+    }
+
+    /**
+     * Divide um grupo de e-mails com o mesmo conteudo em mensagens de ate {@code campaignMaxRecipients} destinatarios,
+     * sem repetir um destinatario na mesma mensagem: e-mails repetidos para o mesmo endereco vao para mensagens
+     * diferentes, de modo que cada e-mail marcado como enviado corresponde a uma copia entregue.
+     *
+     * @param group e-mails com o mesmo conteudo, na ordem do lote
+     * @return e-mails de cada mensagem
+     */
+    private List<List<EmailTO>> campaigns(final List<EmailTO> group) {
+        final List<List<EmailTO>> chunks = new ArrayList<>();
+        final List<Set<String>> recipients = new ArrayList<>();
+        for (var email : group) {
+            var recipient = email.getRecipient().toLowerCase(Locale.ROOT);
+            var index = 0;
+            while (index < chunks.size()
+                    && (chunks.get(index).size() >= campaignMaxRecipients
+                            || recipients.get(index).contains(recipient))) {
+                index++;
+            }
+            if (index == chunks.size()) {
+                chunks.add(new ArrayList<>());
+                recipients.add(new HashSet<>());
+            }
+            chunks.get(index).add(email);
+            recipients.get(index).add(recipient);
+        }
+        return chunks;
+    }
+
+    /**
+     * Converte um grupo de {@link EmailTO} com o mesmo conteudo em um {@link MimeMessage} pronto para envio.
+     *
+     * <p>
+     * Um grupo com um unico e-mail gera uma mensagem individual, com o destinatario em {@code To} e o header
+     * {@code X-Email-ID}. Grupos maiores geram uma mensagem de campanha, com os destinatarios em {@code Bcc}, que nao e
+     * transmitido no conteudo da mensagem.
+     * </p>
+     *
+     * <p>
+     * A mensagem tem uma unica parte {@code text/html}, sem delimitadores multipart aleatorios, de modo que grupos com
+     * o mesmo conteudo produzem o mesmo corpo. Com o DKIM ativo, a mensagem e criada pelo {@link DkimSigner}, que
+     * reaproveita o hash do corpo ja calculado para o mesmo conteudo.
+     * </p>
+     *
+     * @param group e-mails a serem convertidos
      * @return mensagem formatada com headers e conteudo
      */
-    private MimeMessage toMimeMessage(final EmailTO email) {
+    private MimeMessage toMimeMessage(final List<EmailTO> group) {
+        var email = group.get(0);
         try {
-            var message = mailSender.createMimeMessage();
-            message.setHeader(HEADER_EMAIL_ID, email.getId().toString());
-
-            var helper = new MimeMessageHelper(message, true, UTF_8.name());
+            var message = dkimSigner != null
+                    ? dkimSigner.createMimeMessage(email.getBody())
+                    : mailSender.createMimeMessage();
+            var helper = new MimeMessageHelper(message, false, UTF_8.name());
 
             helper.setFrom(from);
-            helper.setTo(email.getRecipient());
+            if (group.size() == 1) {
+                message.setHeader(HEADER_EMAIL_ID, email.getId().toString());
+                helper.setTo(email.getRecipient());
+            } else {
+                helper.setBcc(group.stream().map(EmailTO::getRecipient).toArray(String[]::new));
+            }
             helper.setSubject(email.getSubject());
             helper.setText(email.getBody(), true);
 
@@ -176,57 +610,183 @@ public class EmailServiceImpl implements EmailService {
     }
 
     /**
-     * Extrai o valor de um header especifico de uma {@link MimeMessage}.
+     * Converte e-mails do mesmo destinatario em uma unica mensagem de digest.
      *
-     * @param msg mensagem de onde o header sera extraido
-     * @param name nome do header
-     * @return valor do header, ou {@code null} se nao encontrado
+     * <p>
+     * O corpo reune, na ordem de entrada na fila, o assunto e o conteudo do {@code body} HTML de cada e-mail. O header
+     * {@code X-Email-ID} lista os IDs de todos os e-mails agrupados.
+     * </p>
+     *
+     * @param group e-mails do digest, com o mesmo destinatario
+     * @return mensagem de digest pronta para envio
      */
-    private String extractHeader(final MimeMessage msg, final String name) {
+    private MimeMessage toDigestMessage(final List<EmailTO> group) {
+        var email = group.get(0);
+        var body = new StringBuilder("<html>\n<body>\n");
+        for (var item : group) {
+            body.append("<div>\n<h3>").append(escapeHtml(item.getSubject())).append("</h3>\n")
+                    .append(bodyContent(item.getBody()))
+                    .append("\n</div>\n<hr/>\n");
+        }
+        body.append("</body>\n</html>\n");
+
         try {
-            return msg.getHeader(name, null);
+            // cada digest tem um corpo único: guardar o hash no cache só expulsaria os corpos que se repetem
+            var message = dkimSigner != null
+                    ? dkimSigner.createMimeMessage(null)
+                    : mailSender.createMimeMessage();
+            var helper = new MimeMessageHelper(message, false, UTF_8.name());
+
+            helper.setFrom(from);
+            message.setHeader(HEADER_EMAIL_ID,
+                    group.stream().map(item -> item.getId().toString()).collect(Collectors.joining(",")));
+            helper.setTo(email.getRecipient());
+            helper.setSubject(digestPolicy.subject(group.size()));
+            helper.setText(body.toString(), true);
+
+            return message;
         } catch (Exception e) {
-            log.warn("⚠️ Erro ao ler header '{}'", name, e);
-            return null;
+            log.error("Erro ao criar MimeMessage de digest para ID {}", email.getId(), e);
+            throw new RuntimeException("Erro ao criar mensagem", e);
         }
     }
 
     /**
-     * Marca o e-mail como enviado e persiste a alteracao.
+     * Extrai o conteudo do elemento {@code body} de um documento HTML, para que possa ser incluido em outro documento.
      *
-     * @param email e-mail a ser atualizado
+     * @param html documento ou fragmento HTML
+     * @return conteudo do {@code body}, ou o proprio HTML se nao houver {@code body}
      */
-    private void markAsSent(final EmailTO email) {
-        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
-            @Override
-            protected void doInTransactionWithoutResult(final TransactionStatus status) {
-                email.setAttempts(email.getAttempts() + 1);
-                email.setStatus(SENT);
-                repository.update(email);
+    private static String bodyContent(final String html) {
+        var lower = html.toLowerCase(Locale.ROOT);
+        var open = lower.indexOf("<body");
+        var start = open < 0 ? -1 : lower.indexOf('>', open);
+        if (start < 0) {
+            return html;
+        }
+        var end = lower.lastIndexOf("</body>");
+        return html.substring(start + 1, end > start ? end : html.length()).strip();
+    }
+
+    private static String escapeHtml(final String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * Identifica quais e-mails de um grupo falharam no envio da mensagem.
+     *
+     * <p>
+     * Quando o servidor SMTP recusa apenas parte dos destinatarios ({@link SendFailedException}), somente os e-mails
+     * desses destinatarios sao considerados falhos. Em qualquer outro erro, todo o grupo falhou.
+     * </p>
+     *
+     * @param group e-mails entregues pela mensagem
+     * @param ex excecao associada a mensagem
+     * @return identificadores dos e-mails que falharam
+     */
+    private List<Long> failedIds(final List<EmailTO> group, final Exception ex) {
+        if (group.size() > 1 && ex instanceof SendFailedException sfe) {
+            var unsent = Stream.of(sfe.getInvalidAddresses(), sfe.getValidUnsentAddresses())
+                    .filter(Objects::nonNull)
+                    .flatMap(Arrays::stream)
+                    .map(address -> ((InternetAddress) address).getAddress().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+
+            if (!unsent.isEmpty()) {
+                return group.stream()
+                        .filter(email -> unsent.contains(email.getRecipient().toLowerCase(Locale.ROOT)))
+                        .map(EmailTO::getId)
+                        .toList();
             }
-        });
+        }
+        return group.stream().map(EmailTO::getId).toList();
     }
 
     /**
-     * Marca o e-mail para reprocessamento (RETRYING) e persiste a alteracao.
+     * Grava o resultado do envio dos e-mails de uma mensagem em uma unica transacao: os e-mails sem falha sao marcados
+     * como enviados e os demais para reprocessamento. Os contadores por status sao ajustados uma unica vez por status,
+     * em ordem do enum, como em {@link #moveCounter(EmailStatus, EmailStatus, long)}.
      *
-     * @param email e-mail a ser atualizado
+     * @param jobExecutionId identificador do job que processou os e-mails
+     * @param group e-mails entregues pela mensagem
+     * @param failedIds identificadores dos e-mails que falharam
+     * @param reply resposta do servidor SMTP ao aceitar a mensagem, ou {@code null}
      */
-    private void markAsFailed(final EmailTO email) {
+    private void markDelivered(final String jobExecutionId, final List<EmailTO> group, final Set<Long> failedIds,
+            final String reply) {
         transactionTemplate.execute(new TransactionCallbackWithoutResult() {
             @Override
             protected void doInTransactionWithoutResult(final TransactionStatus status) {
-                email.setAttempts(email.getAttempts() + 1);
-                if (email.getAttempts() < maxAttempts) {
-                    email.setStatus(RETRYING);
-                } else {
-                    email.setStatus(FAILED);
+                final Map<EmailStatus, Long> deltas = new EnumMap<>(EmailStatus.class);
+                for (var email : group) {
+                    var previous = email.getStatus();
+                    email.setJobExecutionId(jobExecutionId);
+                    if (failedIds.contains(email.getId())) {
+                        markAsFailed(email);
+                    } else {
+                        markAsSent(email, reply);
+                    }
+                    deltas.merge(previous, -1L, Long::sum);
+                    deltas.merge(email.getStatus(), 1L, Long::sum);
                 }
-                repository.update(email);
+                deltas.forEach((counter, delta) -> {
+                    if (delta != 0) {
+                        counterRepository.add(counter, delta);
+                    }
+                });
             }
         });
     }
 
+    /**
+     * Marca o e-mail como enviado e persiste a alteracao, na transacao corrente.
+     *
+     * @param email e-mail a ser atualizado
+     * @param reply resposta do servidor SMTP ao aceitar a mensagem, ou {@code null}
+     */
+    private void markAsSent(final EmailTO email, final String reply) {
+        var now = registerAttempt(email);
+        email.setStatus(SENT);
+        email.setSentAt(now);
+        email.setSmtpResponse(reply != null && reply.length() > MAX_REPLY_LENGTH
+                ? reply.substring(0, MAX_REPLY_LENGTH)
+                : reply);
+        repository.update(email);
+    }
+
+    /**
+     * Marca o e-mail para reprocessamento (RETRYING), ou como falho ao atingir o limite de tentativas, e persiste a
+     * alteracao, na transacao corrente.
+     *
+     * @param email e-mail a ser atualizado
+     */
+    private void markAsFailed(final EmailTO email) {
+        registerAttempt(email);
+        if (email.getAttempts() < maxAttempts) {
+            email.setStatus(RETRYING);
+        } else {
+            email.setStatus(FAILED);
+        }
+        repository.update(email);
+    }
+
+    /**
+     * Registra uma nova tentativa de envio: incrementa o contador de tentativas e atualiza os instantes da primeira e
+     * da última tentativa.
+     *
+     * @param email e-mail a ser atualizado
+     * @return instante da tentativa
+     */
+    private Instant registerAttempt(final EmailTO email) {
+        var now = Instant.now();
+        email.setAttempts(email.getAttempts() + 1);
+        if (email.getFirstAttemptAt() == null) {
+            email.setFirstAttemptAt(now);
+        }
+        email.setLastAttemptAt(now);
+        return now;
+    }
+
     /**
      * Reativa e-mails marcados como {@link EmailStatus#FAILED}, dando a eles uma nova chance de serem reprocessados.
      *
@@ -239,9 +799,44 @@ public class EmailServiceImpl implements EmailService {
         transactionTemplate.execute(new TransactionCallbackWithoutResult() {
             @Override
             protected void doInTransactionWithoutResult(final TransactionStatus status) {
-                repository.restoreToRetryingIfFailed(maxAttempts - 1, RETRYING, jobExecutionId);
+                var restored = repository.restoreToRetryingIfFailed(maxAttempts - 1, RETRYING, jobExecutionId);
+                moveCounter(FAILED, RETRYING, restored);
             }
         });
     }
 
+    /**
+     * Transfere {@code count} e-mails entre os contadores de status, na transação corrente.
+     *
+     * <p>
+     * Os contadores são sempre atualizados na ordem dos status, evitando deadlock entre transações que movem e-mails
+     * em sentidos opostos (por exemplo, {@code RETRYING -> FAILED} e {@code FAILED -> RETRYING}).
+     * </p>
+     *
+     * @param from status de origem
+     * @param to status de destino
+     * @param count quantidade de e-mails transferidos
+     */
+    private void moveCounter(final EmailStatus from, final EmailStatus to, final long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        if (from.ordinal() < to.ordinal()) {
+            counterRepository.add(from, -count);
+            counterRepository.add(to, count);
+        } else {
+            counterRepository.add(to, count);
+            counterRepository.add(from, -count);
+        }
+    }
+
+    /**
+     * Chave de agrupamento de e-mails com conteudo identico.
+     *
+     * @param subject assunto do e-mail
+     * @param body corpo do e-mail
+     */
+    private record Content(String subject, String body) {
+    }
+
 }
\ No newline at end of file
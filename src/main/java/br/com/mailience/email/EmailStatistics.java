@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Estatísticas da fila de e-mails, obtidas dos contadores mantidos por status.
+ *
+ * @param counts quantidade de e-mails por status
+ */
+public record EmailStatistics(Map<EmailStatus, Long> counts) {
+
+    /**
+     * @param status status desejado
+     * @return quantidade de e-mails com o status
+     */
+    public long count(final EmailStatus status) {
+        return counts.getOrDefault(status, 0L);
+    }
+
+    /**
+     * @return e-mails ainda não aceitos pelo servidor SMTP ({@link EmailStatus#PENDING}, {@link EmailStatus#RETRYING}
+     *         e {@link EmailStatus#SENDING})
+     */
+    public long backlog() {
+        return count(EmailStatus.PENDING) + count(EmailStatus.RETRYING) + count(EmailStatus.SENDING);
+    }
+
+    /**
+     * @return e-mails em transmissão
+     */
+    public long sending() {
+        return count(EmailStatus.SENDING);
+    }
+
+    /**
+     * @return e-mails enviados com sucesso
+     */
+    public long sent() {
+        return count(EmailStatus.SENT);
+    }
+
+    /**
+     * @return e-mails que falharam definitivamente
+     */
+    public long failed() {
+        return count(EmailStatus.FAILED);
+    }
+
+    /**
+     * @return total de e-mails em todos os status
+     */
+    public long total() {
+        return Arrays.stream(EmailStatus.values()).mapToLong(this::count).sum();
+    }
+
+}
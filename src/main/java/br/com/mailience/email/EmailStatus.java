@@ -27,7 +27,9 @@ package br.com.mailience.email;
  * Status de envio de um e-mail.
  *
  * <p>
- * Representa o estado atual de processamento de um e-mail: pendente, reprocessando, enviado ou com falha.
+ * Representa o estado atual de processamento de um e-mail: pendente, reprocessando, em envio, enviado ou com falha.
+ * A ordem das constantes é a ordem em que os contadores por status são atualizados, e não deve ser alterada sem
+ * considerar esse efeito.
  * </p>
  */
 public enum EmailStatus {
@@ -42,6 +44,12 @@ public enum EmailStatus {
      */
     RETRYING,
 
+    /**
+     * E-mail reservado por um lote e em transmissão ao servidor SMTP. E-mails que permanecem neste status após uma
+     * parada abrupta da aplicação são recuperados na inicialização seguinte.
+     */
+    SENDING,
+
     /**
      * E-mail enviado com sucesso.
      */
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ajusta as colunas de status criadas por versões anteriores para aceitar todos os valores de {@link EmailStatus}.
+ *
+ * <p>
+ * O Hibernate cria as colunas de enum com o tipo {@code ENUM} no H2, ou com uma restrição {@code CHECK} em outros
+ * bancos, listando os status existentes na criação da tabela, e o {@code ddl-auto=update} não as altera depois. Sem
+ * este ajuste, um banco criado antes de {@link EmailStatus#SENDING} recusaria o novo status. Na inicialização, antes
+ * dos demais {@link ApplicationRunner}, as colunas {@code ENUM} passam a {@code VARCHAR(20)} e as restrições que não
+ * conhecem todos os status são removidas.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+class EmailStatusColumnMigrator implements ApplicationRunner {
+
+    private static final List<String> TABLES     = List.of("MF_EMAIL", "MF_EMAIL_COUNTER");
+    private static final String       COLUMN     = "status";
+    private static final String       CHECKS_SQL = """
+            SELECT TC.CONSTRAINT_NAME, CC.CHECK_CLAUSE
+            FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS TC
+            JOIN INFORMATION_SCHEMA.CHECK_CONSTRAINTS CC
+              ON CC.CONSTRAINT_SCHEMA = TC.CONSTRAINT_SCHEMA
+             AND CC.CONSTRAINT_NAME = TC.CONSTRAINT_NAME
+            WHERE TC.CONSTRAINT_TYPE = 'CHECK'
+              AND UPPER(TC.TABLE_NAME) = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EmailStatusColumnMigrator(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Converte as colunas {@code ENUM} e remove as restrições desatualizadas de cada tabela.
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+        for (var table : TABLES) {
+            if (Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) c -> isEnum(c, table)))) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + COLUMN + " SET DATA TYPE VARCHAR(20)");
+                log.info("🔧 Coluna {}.{} convertida de ENUM para VARCHAR(20).", table, COLUMN);
+            }
+            for (var constraint : staleChecks(table)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + constraint);
+                log.info("🔧 Restrição {} de {}.{} removida: não aceitava todos os status.", constraint, table, COLUMN);
+            }
+        }
+    }
+
+    private static boolean isEnum(final Connection connection, final String table) throws SQLException {
+        var metaData = connection.getMetaData();
+        try (var columns = metaData.getColumns(connection.getCatalog(), null,
+                BodyMigrator.identifier(metaData, table), BodyMigrator.identifier(metaData, COLUMN))) {
+            while (columns.next()) {
+                // o H2 informa o tipo com os valores, por exemplo ENUM('FAILED', 'PENDING')
+                if (columns.getString("TYPE_NAME").toUpperCase(Locale.ROOT).startsWith("ENUM")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Busca as restrições {@code CHECK} que listam alguns status, mas não todos.
+     */
+    private List<String> staleChecks(final String table) {
+        final List<String> stale = new ArrayList<>();
+        jdbcTemplate.query(CHECKS_SQL, rs -> {
+            var clause = rs.getString(2).toUpperCase(Locale.ROOT);
+            var known = Arrays.stream(EmailStatus.values())
+                    .filter(status -> clause.contains("'" + status.name() + "'"))
+                    .count();
+            if (known > 0 && known < EmailStatus.values().length) {
+                stale.add(rs.getString(1));
+            }
+        }, table);
+        return stale;
+    }
+
+}
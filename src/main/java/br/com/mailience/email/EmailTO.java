@@ -26,13 +26,17 @@ package br.com.mailience.email;
 import static jakarta.persistence.EnumType.STRING;
 import static jakarta.persistence.GenerationType.IDENTITY;
 
+import java.time.Instant;
+
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -43,7 +47,8 @@ import lombok.Setter;
  * Entidade que representa um e-mail armazenado e gerenciado pelo sistema.
  *
  * <p>
- * Contém os dados essenciais para envio de e-mails como destinatário, assunto, corpo, status e tentativas.
+ * Contém os dados essenciais para envio de e-mails como destinatário, assunto, corpo, status e tentativas, além dos
+ * instantes de cada etapa do ciclo de vida (agendamento, entrada na fila, tentativas e envio).
  * </p>
  */
 @Entity
@@ -51,7 +56,11 @@ import lombok.Setter;
         name = "MF_EMAIL", //
         indexes = {
                 @Index(name = "idx_email_recipient", columnList = "recipient"),
-                @Index(name = "idx_email_status", columnList = "status")
+                @Index(name = "idx_email_status", columnList = "status"),
+                @Index(name = "idx_email_status_tenant", columnList = "status, tenant"),
+                @Index(name = "idx_email_status_created_at", columnList = "status, created_at"),
+                @Index(name = "idx_email_last_attempt_at", columnList = "last_attempt_at"),
+                @Index(name = "idx_email_scheduled_at", columnList = "scheduled_at")
         })
 @Getter
 @Setter
@@ -60,6 +69,11 @@ import lombok.Setter;
 @Builder
 public class EmailTO {
 
+    /**
+     * Tenant atribuído aos e-mails cujo produto de origem não foi informado.
+     */
+    public static final String DEFAULT_TENANT = "default";
+
     /**
      * Identificador único do e-mail (chave primária).
      */
@@ -81,11 +95,29 @@ public class EmailTO {
     private String subject;
 
     /**
-     * Corpo da mensagem do e-mail.
+     * Corpo da mensagem do e-mail, gravado comprimido na coluna {@code body_deflated} (veja {@link BodyCompressor}). O
+     * corpo não é alterado depois da inserção.
      */
-    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = CompressedBodyConverter.class)
+    @Column(name = "body_deflated", nullable = true, updatable = false, length = 1_000_000)
     private String body;
 
+    /**
+     * Corpo sem compressão dos registros gravados antes da coluna {@code body_deflated}, apenas para leitura até que o
+     * {@link BodyMigrator} os comprima.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "body", nullable = true, insertable = false, updatable = false, columnDefinition = "TEXT")
+    private String legacyBody;
+
+    /**
+     * Tamanho do corpo em caracteres, gravado na inserção para que o job de envio estime a memória de um lote sem
+     * carregar o corpo. Nos registros anteriores à coluna, é preenchido pelo {@link BodyMigrator}.
+     */
+    @Column(name = "body_length", nullable = true, updatable = false)
+    private Integer bodyLength;
+
     /**
      * Status atual do e-mail no fluxo de envio.
      */
@@ -105,4 +137,63 @@ public class EmailTO {
     @Column(name = "job_execution_id", nullable = true, length = 255)
     private String jobExecutionId;
 
+    /**
+     * Produto (tenant) de origem do e-mail, usado no escalonamento justo entre produtos.
+     */
+    @Builder.Default
+    @Column(name = "tenant", nullable = false, length = 64, columnDefinition = "varchar(64) default 'default'")
+    private String tenant = DEFAULT_TENANT;
+
+    /**
+     * Indica se o e-mail pode ser agrupado com outros do mesmo destinatário em uma única mensagem (digest).
+     */
+    @Column(name = "digest", nullable = false, columnDefinition = "boolean default false")
+    private boolean digest;
+
+    /**
+     * Instante em que o e-mail entrou na fila.
+     */
+    @Column(name = "created_at", nullable = true, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * Instante agendado para o envio; {@code null} para envio imediato.
+     */
+    @Column(name = "scheduled_at", nullable = true)
+    private Instant scheduledAt;
+
+    /**
+     * Instante da primeira tentativa de envio.
+     */
+    @Column(name = "first_attempt_at", nullable = true)
+    private Instant firstAttemptAt;
+
+    /**
+     * Instante da tentativa de envio mais recente.
+     */
+    @Column(name = "last_attempt_at", nullable = true)
+    private Instant lastAttemptAt;
+
+    /**
+     * Instante em que o e-mail foi aceito pelo servidor SMTP.
+     */
+    @Column(name = "sent_at", nullable = true)
+    private Instant sentAt;
+
+    /**
+     * Resposta do servidor SMTP ao aceitar a mensagem, que costuma conter o identificador da fila do servidor (por
+     * exemplo, {@code 250 2.0.0 Ok: queued as 4Bc9kX}).
+     */
+    @Column(name = "smtp_response", nullable = true, length = 255)
+    private String smtpResponse;
+
+    /**
+     * Corpo da mensagem do e-mail, da coluna comprimida ou, nos registros ainda não migrados, da coluna legada.
+     *
+     * @return corpo HTML
+     */
+    public String getBody() {
+        return body != null ? body : legacyBody;
+    }
+
 }
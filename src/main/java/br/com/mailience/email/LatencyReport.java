@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Relatório de latência entre a entrada na fila e a última tentativa de envio, por status, em uma janela de tempo.
+ *
+ * @param from início da janela (inclusivo)
+ * @param to fim da janela (exclusivo)
+ * @param statuses percentis de cada status com e-mails na janela
+ */
+public record LatencyReport(Instant from, Instant to, Map<EmailStatus, Percentiles> statuses) {
+
+    /**
+     * Monta o relatório a partir dos histogramas de latência (em milissegundos) de cada status.
+     *
+     * @param from início da janela
+     * @param to fim da janela
+     * @param histograms histogramas por status
+     * @return relatório com os percentis de cada status
+     */
+    static LatencyReport of(final Instant from, final Instant to, final Map<EmailStatus, Histogram> histograms) {
+        final Map<EmailStatus, Percentiles> statuses = new EnumMap<>(EmailStatus.class);
+        histograms.forEach((status, histogram) -> statuses.put(status, new Percentiles(
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(95),
+                histogram.getValueAtPercentile(99),
+                histogram.getMaxValue())));
+        return new LatencyReport(from, to, statuses);
+    }
+
+    /**
+     * Percentis de latência, em milissegundos.
+     *
+     * @param count quantidade de e-mails considerados
+     * @param p50 mediana
+     * @param p95 percentil 95
+     * @param p99 percentil 99
+     * @param max maior latência observada
+     */
+    public record Percentiles(long count, long p50, long p95, long p99, long max) {
+    }
+
+}
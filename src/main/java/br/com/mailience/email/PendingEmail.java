@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.time.Instant;
+
+/**
+ * Resumo de um e-mail a ser enviado, sem o corpo: o suficiente para formar os lotes do job de envio e estimar a
+ * memória de cada um antes de carregar o conteúdo.
+ *
+ * @param id identificador do e-mail
+ * @param tenant tenant de origem
+ * @param recipient destinatário
+ * @param digest se o e-mail pode ser agrupado em um digest
+ * @param createdAt instante de entrada na fila
+ * @param contentLength tamanho do assunto e do corpo, em caracteres
+ */
+public record PendingEmail(Long id, String tenant, String recipient, boolean digest, Instant createdAt,
+        int contentLength) {
+
+    /**
+     * @param email e-mail já carregado
+     * @return resumo do e-mail
+     */
+    public static PendingEmail of(final EmailTO email) {
+        var body = email.getBody();
+        return new PendingEmail(email.getId(), email.getTenant(), email.getRecipient(), email.isDigest(),
+                email.getCreatedAt(), email.getSubject().length() + (body != null ? body.length() : 0));
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import br.com.mailience.email.EmailTO;
+
+/**
+ * Leitor de arquivos CSV (RFC 4180), separados por vírgula e com cabeçalho.
+ *
+ * <p>
+ * O cabeçalho deve conter as colunas {@code recipient}, {@code subject} e {@code body}, e opcionalmente
+ * {@code tenant}, {@code digest} e {@code scheduledAt}, em qualquer ordem. Campos entre aspas podem conter vírgulas,
+ * quebras de linha e aspas duplicadas, comuns em corpos HTML. Os caracteres são lidos de um buffer próprio, sem
+ * materializar linhas intermediárias.
+ * </p>
+ */
+class CsvImportReader extends ImportReader<List<String>> {
+
+    private static final int    BUFFER_SIZE = 1 << 16;
+    private static final String BOM         = "\uFEFF";
+
+    private final char[]        buffer      = new char[BUFFER_SIZE];
+    private final StringBuilder field       = new StringBuilder();
+    private int                 position;
+    private int                 limit;
+    private long                currentLine = 1;
+    private long                line;
+    private int                 recipient   = -1;
+    private int                 subject     = -1;
+    private int                 body        = -1;
+    private int                 tenant      = -1;
+    private int                 digest      = -1;
+    private int                 scheduledAt = -1;
+
+    CsvImportReader(final BufferedReader reader) throws IOException {
+        super(reader);
+        readHeader();
+    }
+
+    @Override
+    List<String> next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+        } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+        return record;
+    }
+
+    @Override
+    long line() {
+        return line;
+    }
+
+    @Override
+    EmailTO toEmail(final List<String> record) {
+        return email(column(record, recipient), column(record, subject), column(record, body), column(record, tenant),
+                column(record, digest), column(record, scheduledAt));
+    }
+
+    private static String column(final List<String> record, final int index) {
+        return index >= 0 && index < record.size() ? record.get(index) : null;
+    }
+
+    /**
+     * Lê o cabeçalho e identifica a posição de cada coluna.
+     *
+     * @throws IOException se o arquivo estiver vazio ou faltar uma coluna obrigatória
+     */
+    private void readHeader() throws IOException {
+        var header = readRecord();
+        if (header == null) {
+            throw new IOException("Arquivo CSV vazio, cabeçalho não encontrado");
+        }
+
+        final Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            var name = header.get(i);
+            if (i == 0 && name.startsWith(BOM)) {
+                name = name.substring(1);
+            }
+            columns.putIfAbsent(name.strip().toLowerCase(Locale.ROOT), i);
+        }
+        recipient = required(columns, "recipient");
+        subject = required(columns, "subject");
+        body = required(columns, "body");
+        tenant = columns.getOrDefault("tenant", -1);
+        digest = columns.getOrDefault("digest", -1);
+        scheduledAt = columns.getOrDefault("scheduledat", -1);
+    }
+
+    private static int required(final Map<String, Integer> columns, final String name) throws IOException {
+        var index = columns.get(name);
+        if (index == null) {
+            throw new IOException("Coluna obrigatória '" + name + "' ausente no cabeçalho do CSV");
+        }
+        return index;
+    }
+
+    /**
+     * Lê um registro completo, que pode ocupar várias linhas quando há quebras de linha entre aspas.
+     *
+     * @return campos do registro, ou {@code null} no fim do arquivo
+     * @throws IOException em caso de erro de leitura ou aspas não fechadas
+     */
+    private List<String> readRecord() throws IOException {
+        var c = read();
+        if (c < 0) {
+            return null;
+        }
+        line = currentLine;
+
+        final List<String> record = new ArrayList<>();
+        var quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Aspas não fechadas no registro iniciado na linha " + line);
+                }
+                if (c == '"') {
+                    var next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        currentLine++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c < 0) {
+                if (c == '\n') {
+                    currentLine++;
+                }
+                record.add(field.toString());
+                return record;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+}
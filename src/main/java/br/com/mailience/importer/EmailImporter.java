@@ -0,0 +1,304 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.importer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.mailience.email.EmailRejectedException;
+import br.com.mailience.email.EmailService;
+import br.com.mailience.email.EmailTO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importação em massa de e-mails a partir de arquivos NDJSON ou CSV, ativada pela propriedade
+ * {@code mailience.import.file}.
+ *
+ * <p>
+ * O arquivo é lido em streaming por um {@link FileChannel} com buffer, sem ser carregado em memória. A thread de
+ * leitura apenas separa os registros e os agrupa em blocos de {@code mailience.import.chunk-size}; a conversão,
+ * validação e inserção de cada bloco ocorrem em paralelo em {@code mailience.import.parallelism} threads, com
+ * inserts em batch JDBC ({@link EmailService#saveAll(List)}). O número de blocos em memória é limitado ao dobro do
+ * paralelismo: quando o banco não acompanha a leitura, a leitura aguarda.
+ * </p>
+ *
+ * <p>
+ * O formato é definido pela extensão do arquivo ({@code .csv}, ou {@code .ndjson}/{@code .jsonl}). Registros
+ * inválidos são descartados e registrados no log com o número da linha. O progresso (percentual lido, importados,
+ * rejeitados e taxa) é registrado a cada {@code mailience.import.progress-interval} segundos. Os blocos são inseridos
+ * em paralelo, portanto a ordem dos IDs não segue necessariamente a ordem do arquivo.
+ * </p>
+ *
+ * <p>
+ * Quando o controle de admissão recusa um bloco ({@link EmailRejectedException}), a gravação é repetida com espera
+ * exponencial, mantendo a leitura em espera; se a recusa durar mais que {@code mailience.import.rejection-timeout}
+ * segundos, os registros do bloco são contados como rejeitados e a importação continua.
+ * </p>
+ *
+ * <p>
+ * O resultado da importação é exposto como {@link ExitCodeGenerator}: com {@code mailience.import.exit=true}, a
+ * aplicação é encerrada ao final com código 0 em caso de sucesso e 1 em caso de falha.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "mailience.import.file")
+@Slf4j
+class EmailImporter implements ExitCodeGenerator {
+
+    private static final int     MAX_LOGGED_REJECTIONS = 100;
+    private static final long    MIN_BACKOFF_MILLIS    = 500;
+    private static final long    MAX_BACKOFF_MILLIS    = 30_000;
+
+    private final EmailService   service;
+    private final Path           file;
+    private final int            chunkSize;
+    private final int            parallelism;
+    private final long           progressInterval;
+    private final long           rejectionTimeout;
+    private volatile int         exitCode              = 1;
+
+    EmailImporter(
+            final EmailService service,
+            @Value("${mailience.import.file}") final Path file,
+            @Value("${mailience.import.chunk-size}") final int chunkSize,
+            @Value("${mailience.import.parallelism}") final int parallelism,
+            @Value("${mailience.import.progress-interval}") final long progressInterval,
+            @Value("${mailience.import.rejection-timeout}") final long rejectionTimeout) {
+        this.service = service;
+        this.file = file;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.progressInterval = TimeUnit.SECONDS.toNanos(progressInterval);
+        this.rejectionTimeout = TimeUnit.SECONDS.toNanos(rejectionTimeout);
+    }
+
+    /**
+     * @return 0 se a importação terminou sem erro de leitura ou de banco, 1 caso contrário
+     */
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Executa a importação quando a aplicação estiver pronta ({@link ApplicationReadyEvent}), depois da criação dos
+     * contadores por status.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void importFile() {
+        var succeeded = false;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var decoder = UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            var reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), decoder), 1 << 16);
+
+            try (var importReader = open(reader)) {
+                succeeded = importFrom(importReader, channel);
+            }
+        } catch (IOException e) {
+            log.error("❌ Falha ao ler o arquivo de importação {}", file, e);
+        }
+        exitCode = succeeded ? 0 : 1;
+    }
+
+    /**
+     * Cria o leitor adequado ao formato do arquivo, identificado pela extensão.
+     *
+     * @param reader leitor com buffer do arquivo
+     * @return leitor de registros
+     * @throws IOException se a extensão não for suportada ou o cabeçalho for inválido
+     */
+    private ImportReader<?> open(final BufferedReader reader) throws IOException {
+        var name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return new CsvImportReader(reader);
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return new NdjsonImportReader(reader);
+        }
+        throw new IOException("Formato de importação não suportado (use .csv, .ndjson ou .jsonl): " + file);
+    }
+
+    /**
+     * Lê os registros em blocos e os distribui para conversão, validação e inserção em paralelo.
+     *
+     * @param reader leitor de registros
+     * @param channel canal do arquivo, usado para medir o progresso
+     * @return {@code true} se todos os blocos foram processados sem erro de banco
+     * @throws IOException em caso de erro de leitura
+     */
+    private <R> boolean importFrom(final ImportReader<R> reader, final FileChannel channel) throws IOException {
+        var size = Math.max(1, channel.size());
+        var slots = new Semaphore(parallelism * 2);
+        var imported = new AtomicLong();
+        var rejected = new AtomicLong();
+        var failure = new AtomicReference<Exception>();
+        var executor = executor();
+        var start = System.nanoTime();
+        var nextProgress = start + progressInterval;
+
+        log.info("📥 Importando {} ({} bytes) em blocos de {} registros com {} threads.", file, size, chunkSize,
+                parallelism);
+        try {
+            List<Line<R>> chunk = new ArrayList<>(chunkSize);
+            R record;
+            while (failure.get() == null && (record = reader.next()) != null) {
+                chunk.add(new Line<>(reader.line(), record));
+                if (chunk.size() == chunkSize) {
+                    slots.acquireUninterruptibly();
+                    submit(executor, reader, chunk, slots, imported, rejected, failure);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+
+                var now = System.nanoTime();
+                if (now >= nextProgress) {
+                    progress(channel.position() * 100 / size, imported.get(), rejected.get(), now - start);
+                    nextProgress = now + progressInterval;
+                }
+            }
+            if (!chunk.isEmpty() && failure.get() == null) {
+                slots.acquireUninterruptibly();
+                submit(executor, reader, chunk, slots, imported, rejected, failure);
+            }
+        } finally {
+            slots.acquireUninterruptibly(parallelism * 2);
+            executor.shutdown();
+        }
+
+        if (failure.get() != null) {
+            log.error("❌ Importação de {} interrompida: {} e-mails importados, {} rejeitados.", file, imported.get(),
+                    rejected.get(), failure.get());
+            return false;
+        }
+        log.info("✅ Importação de {} concluída: {} e-mails importados, {} rejeitados em {} s.", file, imported.get(),
+                rejected.get(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        return true;
+    }
+
+    /**
+     * Submete um bloco de registros para conversão, validação e inserção, liberando sua vaga ao final.
+     */
+    private <R> void submit(final ExecutorService executor, final ImportReader<R> reader, final List<Line<R>> chunk,
+            final Semaphore slots, final AtomicLong imported, final AtomicLong rejected,
+            final AtomicReference<Exception> failure) {
+        executor.execute(() -> {
+            try {
+                final List<EmailTO> emails = new ArrayList<>(chunk.size());
+                for (var line : chunk) {
+                    try {
+                        emails.add(reader.toEmail(line.record()));
+                    } catch (IllegalArgumentException e) {
+                        if (rejected.incrementAndGet() <= MAX_LOGGED_REJECTIONS) {
+                            log.warn("⚠️ Linha {} rejeitada: {}", line.number(), e.getMessage());
+                        }
+                    }
+                }
+                imported.addAndGet(save(emails, rejected));
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                slots.release();
+            }
+        });
+    }
+
+    /**
+     * Grava um bloco, repetindo com espera exponencial enquanto o controle de admissão o recusar. Se a recusa durar
+     * mais que {@code mailience.import.rejection-timeout}, os registros do bloco são contados como rejeitados.
+     *
+     * @return quantidade de e-mails gravados
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    private int save(final List<EmailTO> emails, final AtomicLong rejected) throws InterruptedException {
+        var deadline = System.nanoTime() + rejectionTimeout;
+        var backoff = MIN_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                return service.saveAll(emails);
+            } catch (EmailRejectedException e) {
+                var remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    rejected.addAndGet(emails.size());
+                    log.warn("⚠️ Bloco de {} e-mails rejeitado após {} s de recusas: {}", emails.size(),
+                            TimeUnit.NANOSECONDS.toSeconds(rejectionTimeout), e.getMessage());
+                    return 0;
+                }
+                log.debug("Bloco de {} e-mails recusado, nova tentativa em {} ms: {}", emails.size(), backoff,
+                        e.getMessage());
+                Thread.sleep(Math.min(backoff, remaining));
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void progress(final long percent, final long imported, final long rejected, final long elapsed) {
+        var seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(elapsed));
+        log.info("📥 Importação em {}%: {} e-mails importados, {} rejeitados ({} e-mails/s).", percent, imported,
+                rejected, imported / seconds);
+    }
+
+    private ExecutorService executor() {
+        var counter = new AtomicInteger(1);
+        return new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    var thread = new Thread(runnable);
+                    thread.setName("mailience-import-" + counter.getAndIncrement());
+                    return thread;
+                });
+    }
+
+    /**
+     * Registro bruto com o número da linha em que começa no arquivo.
+     */
+    private record Line<R>(long number, R record) {
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import br.com.mailience.email.EmailStatus;
+import br.com.mailience.email.EmailTO;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+
+/**
+ * Leitor sequencial dos registros de um arquivo de importação.
+ *
+ * <p>
+ * A leitura ({@link #next()}) é feita por uma única thread e apenas separa os registros, sem interpretá-los. A
+ * conversão e validação de cada registro ({@link #toEmail(Object)}) não depende de estado do leitor e pode ser
+ * executada em paralelo.
+ * </p>
+ *
+ * @param <R> tipo do registro bruto lido do arquivo
+ */
+abstract class ImportReader<R> implements Closeable {
+
+    private static final int       MAX_RECIPIENT_LENGTH = 255;
+    private static final int       MAX_SUBJECT_LENGTH   = 255;
+    private static final int       MAX_TENANT_LENGTH    = 64;
+
+    protected final BufferedReader reader;
+
+    protected ImportReader(final BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lê o próximo registro do arquivo.
+     *
+     * @return registro bruto, ou {@code null} no fim do arquivo
+     * @throws IOException em caso de erro de leitura ou de formato do arquivo
+     */
+    abstract R next() throws IOException;
+
+    /**
+     * Retorna o número da linha do arquivo em que o último registro lido começa.
+     *
+     * @return número da linha (a partir de 1)
+     */
+    abstract long line();
+
+    /**
+     * Converte e valida um registro bruto.
+     *
+     * @param record registro lido por {@link #next()}
+     * @return e-mail pronto para ser inserido com status {@link EmailStatus#PENDING}
+     * @throws IllegalArgumentException se o registro for inválido
+     */
+    abstract EmailTO toEmail(R record);
+
+    /**
+     * Valida os campos de um registro e cria o e-mail correspondente.
+     *
+     * @param recipient endereço do destinatário
+     * @param subject assunto
+     * @param body corpo HTML
+     * @param tenant tenant de origem, opcional
+     * @param digest {@code true} se o e-mail pode ser agrupado em digest, opcional
+     * @param scheduledAt instante de envio agendado em ISO-8601 (ex.: {@code 2025-01-31T12:00:00Z}), opcional
+     * @return e-mail com status {@link EmailStatus#PENDING}
+     * @throws IllegalArgumentException se algum campo for inválido
+     */
+    protected static EmailTO email(final String recipient, final String subject, final String body,
+            final String tenant, final String digest, final String scheduledAt) {
+        if (recipient == null || recipient.isBlank()) {
+            throw new IllegalArgumentException("destinatário não informado");
+        }
+        if (recipient.strip().length() > MAX_RECIPIENT_LENGTH) {
+            throw new IllegalArgumentException("destinatário com mais de " + MAX_RECIPIENT_LENGTH + " caracteres");
+        }
+        try {
+            new InternetAddress(recipient.strip(), true).validate();
+        } catch (AddressException e) {
+            throw new IllegalArgumentException("destinatário inválido: " + recipient);
+        }
+        if (subject == null || subject.isBlank()) {
+            throw new IllegalArgumentException("assunto não informado");
+        }
+        if (subject.length() > MAX_SUBJECT_LENGTH) {
+            throw new IllegalArgumentException("assunto com mais de " + MAX_SUBJECT_LENGTH + " caracteres");
+        }
+        if (body == null || body.isBlank()) {
+            throw new IllegalArgumentException("corpo não informado");
+        }
+        var hasTenant = tenant != null && !tenant.isBlank();
+        if (hasTenant && tenant.strip().length() > MAX_TENANT_LENGTH) {
+            throw new IllegalArgumentException("tenant com mais de " + MAX_TENANT_LENGTH + " caracteres");
+        }
+        Instant schedule = null;
+        if (scheduledAt != null && !scheduledAt.isBlank()) {
+            try {
+                schedule = Instant.parse(scheduledAt.strip());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("agendamento inválido: " + scheduledAt);
+            }
+        }
+
+        return EmailTO.builder()
+                .recipient(recipient.strip())
+                .subject(subject)
+                .body(body)
+                .tenant(hasTenant ? tenant.strip() : EmailTO.DEFAULT_TENANT)
+                .digest(digest != null && Boolean.parseBoolean(digest.strip()))
+                .scheduledAt(schedule)
+                .status(EmailStatus.PENDING)
+                .attempts(0)
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.mailience.email.EmailTO;
+
+/**
+ * Leitor de arquivos NDJSON (um objeto JSON por linha).
+ *
+ * <p>
+ * Cada linha deve conter os campos {@code recipient}, {@code subject} e {@code body}, e opcionalmente {@code tenant},
+ * {@code digest} e {@code scheduledAt}.
+ * Linhas em branco são ignoradas.
+ * </p>
+ */
+class NdjsonImportReader extends ImportReader<String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private long                      line;
+
+    NdjsonImportReader(final BufferedReader reader) {
+        super(reader);
+    }
+
+    @Override
+    String next() throws IOException {
+        String value;
+        do {
+            value = reader.readLine();
+            line++;
+        } while (value != null && value.isBlank());
+        return value;
+    }
+
+    @Override
+    long line() {
+        return line;
+    }
+
+    @Override
+    EmailTO toEmail(final String record) {
+        final JsonNode node;
+        try {
+            node = MAPPER.readTree(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("a linha não contém um objeto JSON");
+        }
+        return email(text(node, "recipient"), text(node, "subject"), text(node, "body"), text(node, "tenant"),
+                text(node, "digest"), text(node, "scheduledAt"));
+    }
+
+    private static String text(final JsonNode node, final String field) {
+        var value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.mailience.email.PendingEmail;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controle de admissão dos lotes de envio com base em um orçamento de bytes em memória.
+ *
+ * <p>
+ * Cada lote tem seu tamanho renderizado estimado antes do envio ({@link #estimate(List)}), a partir do resumo dos
+ * e-mails, e só tem o conteúdo carregado e é liberado para o executor quando a soma dos lotes em andamento cabe em
+ * {@code mailience.sender.inflight.max-bytes}. Assim o consumo de heap fica previsível independentemente da mistura de
+ * tamanhos das mensagens: lotes pequenos seguem em paralelo e lotes com corpos HTML grandes aguardam espaço sem
+ * ocupar memória.
+ * </p>
+ *
+ * <p>
+ * A espera não bloqueia threads: {@link #acquire(long)} retorna um futuro concluído quando há espaço, e os pedidos são
+ * atendidos em ordem de chegada. Um lote maior que o orçamento inteiro é admitido sozinho, quando nada mais está em
+ * andamento.
+ * </p>
+ */
+@Component
+@Slf4j
+class InflightBudget {
+
+    private final long           maxBytes;
+    private final int            bytesPerChar;
+    private final int            overheadBytes;
+    private final Deque<Request> waiting = new ArrayDeque<>();
+    private long                 inFlight;
+
+    InflightBudget(
+            @Value("${mailience.sender.inflight.max-bytes}") final long maxBytes,
+            @Value("${mailience.sender.inflight.bytes-per-char}") final int bytesPerChar,
+            @Value("${mailience.sender.inflight.overhead-bytes}") final int overheadBytes) {
+        this.maxBytes = maxBytes;
+        this.bytesPerChar = bytesPerChar;
+        this.overheadBytes = overheadBytes;
+    }
+
+    /**
+     * Estima quantos bytes o lote ocupa em memória durante o envio: o conteúdo carregado do banco, a
+     * {@code MimeMessage} codificada e o buffer de transmissão.
+     *
+     * @param batch resumo dos e-mails do lote
+     * @return estimativa em bytes
+     */
+    long estimate(final List<PendingEmail> batch) {
+        long bytes = 0;
+        for (var email : batch) {
+            bytes += overheadBytes + (long) bytesPerChar * email.contentLength();
+        }
+        return bytes;
+    }
+
+    /**
+     * Reserva {@code bytes} do orçamento.
+     *
+     * @param bytes quantidade estimada de bytes do lote
+     * @return futuro concluído quando a reserva é concedida
+     */
+    CompletableFuture<Void> acquire(final long bytes) {
+        var request = new Request(Math.min(bytes, maxBytes));
+        synchronized (this) {
+            if (waiting.isEmpty() && fits(request.bytes)) {
+                inFlight += request.bytes;
+                return CompletableFuture.completedFuture(null);
+            }
+            waiting.add(request);
+            log.debug("Lote de {} bytes aguardando orçamento ({} de {} bytes em andamento).",
+                    request.bytes, inFlight, maxBytes);
+        }
+        return request.granted;
+    }
+
+    /**
+     * Devolve ao orçamento os bytes de um lote concluído e libera os lotes que passam a caber.
+     *
+     * @param bytes quantidade reservada em {@link #acquire(long)}
+     */
+    void release(final long bytes) {
+        final List<Request> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight -= Math.min(bytes, maxBytes);
+            while (!waiting.isEmpty() && fits(waiting.peek().bytes)) {
+                var request = waiting.poll();
+                inFlight += request.bytes;
+                granted.add(request);
+            }
+        }
+        granted.forEach(request -> request.granted.complete(null));
+    }
+
+    private boolean fits(final long bytes) {
+        return inFlight == 0 || inFlight + bytes <= maxBytes;
+    }
+
+    /**
+     * Pedido de reserva aguardando espaço no orçamento.
+     */
+    private static final class Request {
+
+        private final long                    bytes;
+        private final CompletableFuture<Void> granted = new CompletableFuture<>();
+
+        private Request(final long bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.mailience.email.EmailScheduledEvent;
+import br.com.mailience.email.EmailService;
+import br.com.mailience.email.EmailStatus;
+import br.com.mailience.email.EmailTO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Despachante dos e-mails com envio agendado ({@link EmailTO#getScheduledAt()}).
+ *
+ * <p>
+ * Em vez de consultar a tabela de e-mails a cada poucos segundos, os IDs dos e-mails pendentes agendados são
+ * carregados em janelas de {@code mailience.schedule.window} segundos para uma {@link TimingWheel} em memória. A
+ * próxima janela é carregada quando falta metade da atual, de modo que o banco é lido uma vez por janela e não a cada
+ * tick. E-mails agendados gravados para dentro da janela já carregada são incluídos após o commit, por meio do
+ * {@link EmailScheduledEvent}.
+ * </p>
+ *
+ * <p>
+ * Ao vencer, os e-mails são recarregados em lotes, conferidos (ainda pendentes e com o mesmo agendamento) e enviados no
+ * {@code senderExecutor}, em até um tick ({@code mailience.schedule.tick}) após o instante agendado. E-mails com
+ * agendamento vencido há mais de {@code mailience.schedule.grace} segundos, por exemplo após uma parada da aplicação,
+ * ficam a cargo do {@link SenderJob}.
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "mailience.job.enabled", havingValue = "true")
+class ScheduledDispatcher implements DisposableBean {
+
+    private final long                      tick;
+    private final int                       wheelSize;
+    private final Duration                  window;
+    private final Duration                  grace;
+    private final SenderSettings            settings;
+    private final EmailService              emailService;
+    private final SenderJob                 senderJob;
+    private final Set<Long>                 tracked = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Instant>  reload  = new AtomicReference<>();
+    private volatile TimingWheel<Long>      wheel;
+    private volatile Instant                loadedUntil;
+    private volatile Thread                 thread;
+
+    ScheduledDispatcher(
+            @Value("${mailience.schedule.tick}") final long tick,
+            @Value("${mailience.schedule.wheel-size}") final int wheelSize,
+            @Value("${mailience.schedule.window}") final long window,
+            @Value("${mailience.schedule.grace}") final long grace,
+            final SenderSettings settings,
+            final EmailService emailService,
+            final SenderJob senderJob) {
+        this.tick = Math.max(1, tick);
+        this.wheelSize = Math.max(2, wheelSize);
+        this.window = Duration.ofSeconds(Math.max(1, window));
+        this.grace = Duration.ofSeconds(grace);
+        this.settings = settings;
+        this.emailService = emailService;
+        this.senderJob = senderJob;
+    }
+
+    /**
+     * Inicia a thread do despachante quando a aplicação estiver pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        var now = Instant.now();
+        wheel = new TimingWheel<>(tick, wheelSize, now.toEpochMilli());
+        loadedUntil = now.minus(grace);
+        thread = new Thread(this::loop, "mailience-schedule");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Registra que e-mails agendados foram gravados. Se o agendamento cair na janela já carregada, a faixa é relida
+     * pela thread do despachante.
+     *
+     * @param event evento publicado na gravação, tratado após o commit
+     */
+    @TransactionalEventListener
+    public void onScheduled(final EmailScheduledEvent event) {
+        var until = loadedUntil;
+        if (until != null && event.earliest().isBefore(until)) {
+            reload.accumulateAndGet(event.earliest(),
+                    (current, earliest) -> current == null || earliest.isBefore(current) ? earliest : current);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        var current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void loop() {
+        log.info("🗓️ Despachante de e-mails agendados iniciado (tick de {} ms, janela de {} s).", tick,
+                window.toSeconds());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                preload();
+                var due = wheel.poll(tick);
+                if (!due.isEmpty()) {
+                    dispatch(due);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("❌ Falha no despachante de e-mails agendados: {}", e.getMessage(), e);
+                sleep();
+            }
+        }
+    }
+
+    /**
+     * Carrega a próxima janela quando falta menos da metade da atual, e relê a faixa já carregada quando novos
+     * e-mails foram agendados para dentro dela.
+     */
+    private void preload() {
+        var now = Instant.now();
+        var from = reload.getAndSet(null);
+        if (from != null) {
+            load(from.isBefore(now.minus(grace)) ? now.minus(grace) : from, loadedUntil);
+        }
+        if (loadedUntil.isBefore(now.plus(window.dividedBy(2)))) {
+            var until = (loadedUntil.isBefore(now) ? now : loadedUntil).plus(window);
+            load(loadedUntil, until);
+            loadedUntil = until;
+        }
+    }
+
+    private void load(final Instant from, final Instant to) {
+        var scheduled = emailService.findScheduled(from, to);
+        final List<Long> due = new ArrayList<>();
+        var added = 0;
+        for (var entry : scheduled.entrySet()) {
+            if (tracked.add(entry.getKey())) {
+                added++;
+                if (!wheel.add(entry.getKey(), entry.getValue().toEpochMilli())) {
+                    due.add(entry.getKey());
+                }
+            }
+        }
+        log.debug("Janela de agendamento [{}, {}) carregada: {} e-mails novos, {} na roda.", from, to, added,
+                wheel.size());
+        if (!due.isEmpty()) {
+            dispatch(due);
+        }
+    }
+
+    /**
+     * Confere os e-mails vencidos e os envia em lotes no {@code senderExecutor}.
+     *
+     * @param ids identificadores dos e-mails vencidos
+     */
+    private void dispatch(final List<Long> ids) {
+        var batchSize = settings.batchSize();
+        var jobExecutionId = UUID.randomUUID().toString();
+        var limit = Instant.now().plusMillis(tick);
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            var chunk = ids.subList(i, Math.min(i + batchSize, ids.size()));
+            final List<EmailTO> batch = new ArrayList<>(chunk.size());
+            final Set<Long> missing = new HashSet<>(chunk);
+            for (var email : emailService.findAllById(chunk)) {
+                missing.remove(email.getId());
+                if (email.getStatus() != EmailStatus.PENDING || email.getScheduledAt() == null) {
+                    tracked.remove(email.getId());
+                } else if (!email.getScheduledAt().isAfter(limit)
+                        || !wheel.add(email.getId(), email.getScheduledAt().toEpochMilli())) {
+                    // reagendados para mais tarde depois da carga voltam para a roda
+                    batch.add(email);
+                }
+            }
+            tracked.removeAll(missing);
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            log.info("🗓️ {} e-mails agendados vencidos enviados ao executor.", batch.size());
+            senderJob.submit(jobExecutionId, batch)
+                    .whenComplete((ignored, ex) -> batch.forEach(email -> tracked.remove(email.getId())));
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(Math.max(tick, 1000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
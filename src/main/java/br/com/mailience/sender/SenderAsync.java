@@ -39,7 +39,8 @@ import org.springframework.context.annotation.Configuration;
  *
  * <p>
  * Define um {@link ThreadPoolExecutor} personalizado com parâmetros configuráveis por propriedades externas, permitindo
- * controle sobre o número de threads, tempo de vida ociosa e fila de tarefas.
+ * controle sobre o número de threads, tempo de vida ociosa e fila de tarefas. O número de threads pode ser ajustado em
+ * tempo de execução pelo {@link SenderSettings}.
  * </p>
  */
 @Configuration
@@ -71,7 +72,7 @@ class SenderAsync {
      * @return executor configurado para tarefas assíncronas de envio
      */
     @Bean(name = "senderExecutor")
-    Executor senderExecutor() {
+    ThreadPoolExecutor senderExecutor() {
         var counter = new AtomicInteger(1);
         ThreadFactory threadFactory = runnable -> {
             var thread = new Thread(runnable);
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint do Actuator ({@code mailsender}) para consultar e ajustar os parâmetros de envio em tempo de execução.
+ *
+ * <p>
+ * Permite redimensionar o {@code senderExecutor} e alterar o tamanho do lote, da página e o intervalo entre execuções
+ * do job durante um incidente, sem reiniciar a aplicação e sem descartar os lotes em andamento. Parâmetros omitidos
+ * mantêm o valor atual.
+ * </p>
+ */
+@Component
+@Endpoint(id = "mailsender")
+class SenderEndpoint {
+
+    private final SenderSettings            settings;
+    private final ObjectProvider<SenderJob> senderJob;
+
+    SenderEndpoint(final SenderSettings settings, final ObjectProvider<SenderJob> senderJob) {
+        this.settings = settings;
+        this.senderJob = senderJob;
+    }
+
+    /**
+     * @return valores efetivos dos parâmetros de envio e o estado atual do executor
+     */
+    @ReadOperation
+    public Map<String, Object> settings() {
+        return settings.effective();
+    }
+
+    /**
+     * Altera os parâmetros de envio informados.
+     *
+     * @param corePoolSize número mínimo de threads do executor
+     * @param maximumPoolSize número máximo de threads do executor
+     * @param batchSize quantidade máxima de e-mails por lote
+     * @param pageSize quantidade máxima de e-mails buscados por execução do job
+     * @param pollDelay intervalo (em segundos) entre execuções do job
+     * @return valores efetivos após a alteração
+     */
+    @WriteOperation
+    public Map<String, Object> update(@Nullable final Integer corePoolSize, @Nullable final Integer maximumPoolSize,
+            @Nullable final Integer batchSize, @Nullable final Integer pageSize, @Nullable final Long pollDelay) {
+        settings.update(corePoolSize, maximumPoolSize, batchSize, pageSize, pollDelay);
+        if (pollDelay != null) {
+            senderJob.ifAvailable(SenderJob::reschedule);
+        }
+        return settings.effective();
+    }
+
+}
@@ -23,22 +23,33 @@
  */
 package br.com.mailience.sender;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
+import br.com.mailience.email.DigestPolicy;
 import br.com.mailience.email.EmailService;
 import br.com.mailience.email.EmailStatus;
+import br.com.mailience.email.EmailTO;
+import br.com.mailience.email.PendingEmail;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -47,57 +58,194 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * Garante que apenas uma execução do processo ocorra por vez, evitando concorrência entre execuções simultâneas.
  * </p>
+ *
+ * <p>
+ * Os e-mails são selecionados por tenant, de forma justa e ponderada pelo {@link TenantScheduler}: cada tenant ativo
+ * recebe uma parcela da página do ciclo e uma parcela das sessões simultâneas ({@code mailience.sender.max-sessions}),
+ * processando seus lotes em sequência dentro dessa parcela.
+ * </p>
+ *
+ * <p>
+ * A página do ciclo traz apenas o resumo dos e-mails ({@link PendingEmail}), sem o corpo. Antes de ir para o executor,
+ * cada lote reserva sua estimativa de memória no {@link InflightBudget}, e só então o conteúdo é carregado do banco,
+ * limitando os bytes em andamento independentemente da quantidade de lotes.
+ * </p>
+ *
+ * <p>
+ * O tamanho do lote, da página e o intervalo entre execuções vêm do {@link SenderSettings} e podem ser alterados em
+ * tempo de execução. Por isso o agendamento é feito diretamente no {@link TaskScheduler}, e não com
+ * {@code @Scheduled}: a próxima execução é reagendada quando o intervalo muda.
+ * </p>
  */
 @Component
 @Slf4j
 @ConditionalOnProperty(name = "mailience.job.enabled", havingValue = "true")
 class SenderJob {
 
-    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock lock     = new ReentrantLock();
+    private final AtomicInteger inFlight = new AtomicInteger();
 
-    private final int          batchSize;
-    private final EmailService emailService;
-    private final Executor     senderExecutor;
+    private final long            initialDelay;
+    private final SenderSettings  settings;
+    private final EmailService    emailService;
+    private final TenantScheduler tenantScheduler;
+    private final DigestPolicy    digestPolicy;
+    private final InflightBudget  inflightBudget;
+    private final Executor        senderExecutor;
+    private final TaskScheduler   taskScheduler;
+    private ScheduledFuture<?>    next;
+    private Instant               lastCompletion;
+    private boolean               running;
+    private volatile boolean      stopping;
 
     SenderJob(
-            @Value("${mailience.executor.maximum-pool-size}") final int batchSize, //
+            @Value("${mailience.job.initialDelay}") final long initialDelay, //
+            final SenderSettings settings, //
             final EmailService emailService, //
-            @Qualifier("senderExecutor") final Executor senderExecutor) {
-        this.batchSize = batchSize;
+            final TenantScheduler tenantScheduler, //
+            final DigestPolicy digestPolicy, //
+            final InflightBudget inflightBudget, //
+            @Qualifier("senderExecutor") final Executor senderExecutor, //
+            final TaskScheduler taskScheduler) {
+        this.initialDelay = initialDelay;
+        this.settings = settings;
         this.emailService = emailService;
+        this.tenantScheduler = tenantScheduler;
+        this.digestPolicy = digestPolicy;
+        this.inflightBudget = inflightBudget;
         this.senderExecutor = senderExecutor;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * Agenda a primeira execução, {@code mailience.job.initialDelay} segundos após a aplicação ficar pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        schedule(Instant.now().plusSeconds(initialDelay));
+    }
+
+    /**
+     * Reagenda a próxima execução com o intervalo atual do {@link SenderSettings}, contado a partir do fim da última
+     * execução. Se o job estiver em execução, nada é cancelado: o novo intervalo é aplicado pelo agendamento feito ao
+     * final dela, de modo que exista sempre uma única cadeia de execuções.
+     */
+    synchronized void reschedule() {
+        if (!stopping && !running && lastCompletion != null && next != null && next.cancel(false)) {
+            schedule(lastCompletion.plusSeconds(settings.pollDelay()));
+        }
+    }
+
+    /**
+     * Executa o job e agenda a execução seguinte, {@code pollDelay} segundos após o término (atraso fixo).
+     */
+    private void execute() {
+        synchronized (this) {
+            running = true;
+        }
+        try {
+            run();
+        } finally {
+            synchronized (this) {
+                running = false;
+                lastCompletion = Instant.now();
+                if (!stopping) {
+                    schedule(lastCompletion.plusSeconds(settings.pollDelay()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Encerra o job para o desligamento da aplicação: cancela a próxima execução e descarta os lotes que ainda não
+     * começaram, que permanecem pendentes no banco. Os lotes em transmissão continuam até o fim.
+     */
+    synchronized void stop() {
+        stopping = true;
+        if (next != null) {
+            next.cancel(false);
+        }
+    }
+
+    /**
+     * @return quantidade de lotes encadeados que ainda não terminaram
+     */
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void schedule(final Instant at) {
+        try {
+            next = taskScheduler.schedule(this::execute, at);
+        } catch (TaskRejectedException e) {
+            log.debug("Agendamento do job de envio ignorado: agendador encerrado.");
+        }
     }
 
     /**
      * Executa o processo de envio dos e-mails pendentes, impedindo que múltiplas execuções concorrentes ocorram. Busca
-     * os e-mails com status pendente ou em reprocessamento e aciona o envio.
+     * os e-mails com status pendente ou em reprocessamento de cada tenant, na parcela definida pelo
+     * {@link TenantScheduler}, e aciona o envio.
      */
-    @Scheduled( //
-            fixedDelayString = "${mailience.job.fixedDelay}", //
-            initialDelayString = "${mailience.job.initialDelay}", //
-            timeUnit = TimeUnit.SECONDS //
-    )
     void run() {
         if (lock.tryLock()) {
             String jobExecutionId = UUID.randomUUID().toString();
             try {
+                var pageSize = settings.pageSize();
+                var batchSize = settings.batchSize();
                 log.info("📧 Iniciando o job {} de envio de e-mails pendentes...", jobExecutionId);
-                var emails = emailService.findPending(EmailStatus.PENDING, EmailStatus.RETRYING);
-                if (!emails.isEmpty()) {
-                    log.info("🕒 {} e-mails pendentes encontrados para envio.", emails.size());
-
-                    var batches = IntStream.range(0, (emails.size() + batchSize - 1) / batchSize)
-                            .mapToObj(i -> emails.subList(i * batchSize, Math.min((i + 1) * batchSize, emails.size())))
-                            .collect(Collectors.toList());
-                    log.info("Processamento paralelo será feito em {} lote(s) de até {} e-mails.",
-                            batches.size(), batchSize);
-
-                    var futures = batches.stream()
-                            .map(batch -> CompletableFuture.runAsync(() -> emailService.send(jobExecutionId, batch),
-                                    senderExecutor))
-                            .toList();
-
-                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+                var tenants = emailService.findPendingTenants(EmailStatus.PENDING, EmailStatus.RETRYING);
+                if (!tenants.isEmpty()) {
+                    var allocation = tenantScheduler.allocate(tenants, pageSize);
+
+                    final Map<String, List<CompletableFuture<Void>>> lanes = new LinkedHashMap<>();
+                    final Map<String, List<List<PendingEmail>>> laneBatches = new LinkedHashMap<>();
+                    var fetched = 0;
+                    for (var entry : allocation.entrySet()) {
+                        var tenant = entry.getKey();
+                        var limit = entry.getValue() == TenantScheduler.LEFTOVER
+                                ? pageSize - fetched
+                                : entry.getValue();
+                        if (limit <= 0) {
+                            continue;
+                        }
+                        var emails = emailService.findPending(tenant, limit,
+                                EmailStatus.PENDING, EmailStatus.RETRYING);
+                        tenantScheduler.consume(tenant, limit, emails.size());
+                        fetched += emails.size();
+                        if (emails.isEmpty()) {
+                            continue;
+                        }
+
+                        var batches = partition(emails, batchSize);
+                        var share = tenantScheduler.share(tenant, tenants, settings.maxSessions());
+                        log.info("🕒 Tenant {}: {} e-mails pendentes em {} lote(s), até {} lote(s) em paralelo.",
+                                tenant, emails.size(), batches.size(), share);
+                        laneBatches.put(tenant, batches);
+                        lanes.put(tenant, new ArrayList<>());
+                        for (int i = 0; i < Math.min(share, batches.size()); i++) {
+                            lanes.get(tenant).add(CompletableFuture.completedFuture(null));
+                        }
+                    }
+
+                    var pending = true;
+                    for (int round = 0; pending; round++) {
+                        pending = false;
+                        for (var entry : laneBatches.entrySet()) {
+                            var batches = entry.getValue();
+                            if (round < batches.size()) {
+                                var tenantLanes = lanes.get(entry.getKey());
+                                var lane = round % tenantLanes.size();
+                                var batch = batches.get(round);
+                                tenantLanes.set(lane, enqueue(tenantLanes.get(lane), jobExecutionId, batch,
+                                        () -> emailService.findAllById(batch.stream().map(PendingEmail::id).toList())));
+                                pending = true;
+                            }
+                        }
+                    }
+                    CompletableFuture.allOf(lanes.values().stream()
+                            .flatMap(List::stream)
+                            .toArray(CompletableFuture[]::new)).join();
                 } else {
                     log.info("✔️ Nenhum e-mail pendente encontrado para envio.");
                 }
@@ -112,4 +260,110 @@ class SenderJob {
         }
     }
 
+    /**
+     * Envia um lote fora do ciclo do job (por exemplo, e-mails agendados que venceram), com o mesmo controle de
+     * memória em andamento dos lotes do ciclo.
+     *
+     * @param jobExecutionId identificador da execução
+     * @param batch lote de e-mails
+     * @return futuro concluído ao final do envio
+     */
+    CompletableFuture<Void> submit(final String jobExecutionId, final List<EmailTO> batch) {
+        return enqueue(CompletableFuture.completedFuture(null), jobExecutionId,
+                batch.stream().map(PendingEmail::of).toList(), () -> batch);
+    }
+
+    /**
+     * Encadeia um lote ao fim da fila de execução do tenant. O conteúdo do lote só é carregado, no executor, depois que
+     * sua estimativa de memória for admitida pelo {@link InflightBudget}, e a reserva é devolvida ao final do envio.
+     *
+     * @param lane fila de execução do tenant
+     * @param jobExecutionId identificador da execução do job
+     * @param batch resumo dos e-mails do lote
+     * @param content carrega os e-mails do lote
+     * @return nova cauda da fila de execução
+     */
+    private CompletableFuture<Void> enqueue(final CompletableFuture<Void> lane, final String jobExecutionId,
+            final List<PendingEmail> batch, final Supplier<List<EmailTO>> content) {
+        var bytes = inflightBudget.estimate(batch);
+        inFlight.incrementAndGet();
+        return lane.thenCompose(ignored -> inflightBudget.acquire(bytes))
+                .thenComposeAsync(ignored -> {
+                    if (stopping) {
+                        log.debug("Lote de {} e-mails descartado: aplicação em desligamento.", batch.size());
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    return send(jobExecutionId, batch.size(), content);
+                }, senderExecutor)
+                .whenComplete((ignored, ex) -> {
+                    inflightBudget.release(bytes);
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    /**
+     * Carrega e envia um lote, registrando a falha sem interromper os lotes seguintes do mesmo tenant. A thread do
+     * executor é liberada assim que as mensagens são entregues ao transporte; o lote termina quando o resultado é
+     * registrado.
+     *
+     * @param jobExecutionId identificador da execução do job
+     * @param size quantidade de e-mails do lote
+     * @param content carrega os e-mails do lote
+     * @return futuro concluído ao final do envio, sempre com sucesso
+     */
+    private CompletableFuture<Void> send(final String jobExecutionId, final int size,
+            final Supplier<List<EmailTO>> content) {
+        try {
+            var batch = content.get();
+            if (batch.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return emailService.send(jobExecutionId, batch).toCompletableFuture()
+                    .exceptionally(ex -> {
+                        log.error("❌ Falha ao enviar lote de {} e-mails: {}", size, ex.getMessage(), ex);
+                        return null;
+                    });
+        } catch (Exception ex) {
+            log.error("❌ Falha ao enviar lote de {} e-mails: {}", size, ex.getMessage(), ex);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Divide os e-mails em lotes de até {@code size} elementos.
+     *
+     * <p>
+     * E-mails que formam um mesmo digest ({@link DigestPolicy}) são mantidos juntos no mesmo lote, para que sejam
+     * enviados em uma única mensagem; um digest maior que {@code size} ocupa um lote próprio.
+     * </p>
+     *
+     * @param emails e-mails a serem divididos
+     * @param size tamanho máximo de cada lote
+     * @return lotes, na ordem do primeiro e-mail de cada grupo
+     */
+    private List<List<PendingEmail>> partition(final List<PendingEmail> emails, final int size) {
+        final Map<Object, List<PendingEmail>> units = new LinkedHashMap<>();
+        for (var email : emails) {
+            var key = digestPolicy.key(email);
+            units.computeIfAbsent(key != null ? key : email, k -> new ArrayList<>(1)).add(email);
+        }
+
+        final List<List<PendingEmail>> batches = new ArrayList<>();
+        List<PendingEmail> current = new ArrayList<>(size);
+        for (var unit : units.values()) {
+            for (int i = 0; i < unit.size(); i += digestPolicy.maxItems()) {
+                var digest = unit.subList(i, Math.min(i + digestPolicy.maxItems(), unit.size()));
+                if (!current.isEmpty() && current.size() + digest.size() > size) {
+                    batches.add(current);
+                    current = new ArrayList<>(size);
+                }
+                current.addAll(digest);
+            }
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
 }
@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Parâmetros de envio ajustáveis em tempo de execução, sem reinício da aplicação.
+ *
+ * <p>
+ * Os valores iniciais vêm das propriedades {@code mailience.executor.*} e {@code mailience.job.*}, e podem ser
+ * alterados pelo endpoint {@code mailsender}. O {@link SenderJob} lê o tamanho do lote e da página no início de cada
+ * execução, de modo que uma alteração vale a partir da próxima execução, sem afetar os lotes em andamento.
+ * </p>
+ *
+ * <p>
+ * O redimensionamento do {@code senderExecutor} respeita a invariante {@code core <= max} do
+ * {@link ThreadPoolExecutor} a cada passo: ao crescer, o máximo é ajustado antes do núcleo; ao diminuir, o núcleo antes
+ * do máximo. Threads excedentes terminam após concluir a tarefa atual.
+ * </p>
+ */
+@Component
+@Slf4j
+class SenderSettings {
+
+    private final ThreadPoolExecutor senderExecutor;
+    private final int                maxSessions;
+    private volatile int             batchSize;
+    private volatile int             pageSize;
+    private volatile long            pollDelay;
+
+    SenderSettings(
+            @Value("${mailience.executor.maximum-pool-size}") final int batchSize,
+            @Value("${mailience.executor.work-queue}") final int pageSize,
+            @Value("${mailience.job.fixedDelay}") final long pollDelay,
+            @Value("${mailience.sender.max-sessions}") final int maxSessions,
+            @Qualifier("senderExecutor") final ThreadPoolExecutor senderExecutor) {
+        this.batchSize = batchSize;
+        this.pageSize = pageSize;
+        this.pollDelay = pollDelay;
+        this.maxSessions = maxSessions;
+        this.senderExecutor = senderExecutor;
+    }
+
+    /**
+     * @return quantidade máxima de e-mails por lote enviado ao executor
+     */
+    int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return quantidade máxima de e-mails buscados por execução do job
+     */
+    int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return intervalo (em segundos) entre o fim de uma execução do job e o início da seguinte
+     */
+    long pollDelay() {
+        return pollDelay;
+    }
+
+    /**
+     * @return número máximo de threads do {@code senderExecutor}
+     */
+    int maximumPoolSize() {
+        return senderExecutor.getMaximumPoolSize();
+    }
+
+    /**
+     * @return quantidade máxima de lotes em transmissão ao mesmo tempo: {@code mailience.sender.max-sessions} ou, se
+     *         não definido, o número máximo de threads do {@code senderExecutor}
+     */
+    int maxSessions() {
+        return maxSessions > 0 ? maxSessions : maximumPoolSize();
+    }
+
+    /**
+     * Altera os parâmetros informados, mantendo os demais. Todos os valores são validados antes de qualquer alteração.
+     *
+     * @param corePoolSize novo número mínimo de threads do executor, ou {@code null}
+     * @param maximumPoolSize novo número máximo de threads do executor, ou {@code null}
+     * @param batchSize novo tamanho do lote, ou {@code null}
+     * @param pageSize novo tamanho da página, ou {@code null}
+     * @param pollDelay novo intervalo entre execuções (em segundos), ou {@code null}
+     * @throws IllegalArgumentException se algum valor for inválido
+     */
+    synchronized void update(final Integer corePoolSize, final Integer maximumPoolSize, final Integer batchSize,
+            final Integer pageSize, final Long pollDelay) {
+        var core = corePoolSize != null ? corePoolSize : senderExecutor.getCorePoolSize();
+        var max = maximumPoolSize != null ? maximumPoolSize : senderExecutor.getMaximumPoolSize();
+        if (core < 0 || max < 1 || core > max) {
+            throw new IllegalArgumentException(
+                    "Tamanho do executor inválido: core=" + core + ", max=" + max
+                            + " (exige 0 <= core <= max e max >= 1)");
+        }
+        if (batchSize != null && batchSize < 1) {
+            throw new IllegalArgumentException("Tamanho do lote inválido: " + batchSize);
+        }
+        if (pageSize != null && pageSize < 1) {
+            throw new IllegalArgumentException("Tamanho da página inválido: " + pageSize);
+        }
+        if (pollDelay != null && pollDelay < 1) {
+            throw new IllegalArgumentException("Intervalo entre execuções inválido: " + pollDelay);
+        }
+
+        if (max >= senderExecutor.getMaximumPoolSize()) {
+            senderExecutor.setMaximumPoolSize(max);
+            senderExecutor.setCorePoolSize(core);
+        } else {
+            senderExecutor.setCorePoolSize(core);
+            senderExecutor.setMaximumPoolSize(max);
+        }
+        if (batchSize != null) {
+            this.batchSize = batchSize;
+        }
+        if (pageSize != null) {
+            this.pageSize = pageSize;
+        }
+        if (pollDelay != null) {
+            this.pollDelay = pollDelay;
+        }
+        log.info("🔧 Parâmetros de envio alterados: {}", effective());
+    }
+
+    /**
+     * @return valores efetivos dos parâmetros e o estado atual do executor
+     */
+    Map<String, Object> effective() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("corePoolSize", senderExecutor.getCorePoolSize());
+        result.put("maximumPoolSize", senderExecutor.getMaximumPoolSize());
+        result.put("poolSize", senderExecutor.getPoolSize());
+        result.put("activeCount", senderExecutor.getActiveCount());
+        result.put("queueSize", senderExecutor.getQueue().size());
+        result.put("batchSize", batchSize);
+        result.put("pageSize", pageSize);
+        result.put("pollDelay", pollDelay);
+        return result;
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Desligamento ordenado do envio de e-mails.
+ *
+ * <p>
+ * Ao encerrar a aplicação, o {@link SenderJob} deixa de agendar execuções e de iniciar novos lotes, e os lotes já em
+ * transmissão têm até {@code mailience.sender.shutdown.timeout} segundos para terminar e gravar o resultado. Se o prazo
+ * estourar, as threads do {@code senderExecutor} são interrompidas e os e-mails que ficarem em
+ * {@link br.com.mailience.email.EmailStatus#SENDING SENDING} são recuperados na próxima inicialização.
+ * </p>
+ */
+@Component
+@Slf4j
+class SenderShutdown implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final Duration                  timeout;
+    private final ThreadPoolExecutor        senderExecutor;
+    private final ObjectProvider<SenderJob> senderJob;
+    private volatile boolean                running;
+
+    SenderShutdown(@Value("${mailience.sender.shutdown.timeout}") final long timeout,
+            @Qualifier("senderExecutor") final ThreadPoolExecutor senderExecutor,
+            final ObjectProvider<SenderJob> senderJob) {
+        this.timeout = Duration.ofSeconds(timeout);
+        this.senderExecutor = senderExecutor;
+        this.senderJob = senderJob;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        var deadline = System.nanoTime() + timeout.toNanos();
+        var job = senderJob.getIfAvailable();
+        if (job != null) {
+            job.stop();
+        }
+        try {
+            while ((job != null && job.inFlight() > 0 || senderExecutor.getActiveCount() > 0)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(POLL_MILLIS);
+            }
+            senderExecutor.shutdown();
+            var remaining = Math.max(0, deadline - System.nanoTime());
+            if (senderExecutor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                log.info("Executor de envio encerrado.");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var pending = senderExecutor.shutdownNow();
+        log.warn("Executor de envio interrompido após {}s com {} tarefas na fila; e-mails em SENDING serão recuperados"
+                + " na próxima inicialização.", timeout.toSeconds(), pending.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
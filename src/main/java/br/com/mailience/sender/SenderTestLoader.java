@@ -23,6 +23,9 @@
  */
 package br.com.mailience.sender;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -39,8 +42,8 @@ import lombok.extern.slf4j.Slf4j;
  *
  * <p>
  * A carga inicial consiste em 500 e-mails HTML com status {@code PENDING}, enviados para o destinatario definido em
- * {@code mailience.test.recipient}. A execucao ocorre apenas se a propriedade estiver presente e nenhum e-mail pendente
- * ja existir.
+ * {@code mailience.test.recipient}. A execucao ocorre apenas se a propriedade estiver presente e nenhum e-mail ja
+ * existir, verificado pelos contadores de status, sem consultar a tabela de e-mails.
  * </p>
  *
  * <p>
@@ -67,23 +70,23 @@ class SenderTestLoader {
      * Evento disparado quando a aplicacao estiver pronta ({@link ApplicationReadyEvent}).
      *
      * <p>
-     * Insere 500 e-mails HTML no repositório, se e somente se nenhum e-mail pendente ou em reprocessamento estiver
-     * presente. Cada e-mail gerado e associado ao destinatario configurado via {@code mailience.test.recipient}.
+     * Insere 500 e-mails HTML no repositório, se e somente se nenhum e-mail estiver presente. Cada e-mail gerado e
+     * associado ao destinatario configurado via {@code mailience.test.recipient}.
      * </p>
      */
     @EventListener(ApplicationReadyEvent.class)
     public void seedInitialData() {
-        if (service.findPending(EmailStatus.values()).size() > 0) {
+        if (service.statistics().total() > 0) {
             log.info("📨 Emails já existem no banco. Ignorando carga inicial.");
             return;
         }
 
+        final List<EmailTO> emails = new ArrayList<>(500);
         for (int i = 1; i <= 500; i++) {
-            var email = new EmailTO(
-                    null,
-                    recipient,
-                    "Mensagem de Boas-vindas #" + i,
-                    """
+            emails.add(EmailTO.builder()
+                    .recipient(recipient)
+                    .subject("Mensagem de Boas-vindas #" + i)
+                    .body("""
                             <html>
                                 <body>
                                     <h2>Bem-vindo, Usuário #%d!</h2>
@@ -93,12 +96,12 @@ class SenderTestLoader {
                                     <small>Este é um envio automático. Não responda.</small>
                                 </body>
                             </html>
-                            """.formatted(i),
-                    EmailStatus.PENDING,
-                    0,
-                    null);
-            service.save(email);
+                            """.formatted(i))
+                    .status(EmailStatus.PENDING)
+                    .attempts(0)
+                    .build());
         }
+        service.saveAll(emails);
 
         log.info("✅ 500 e-mails com HTML inseridos como carga inicial.");
     }
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Escalonador justo entre tenants, baseado em Deficit Round Robin (DRR) ponderado.
+ *
+ * <p>
+ * A cada execução do {@link SenderJob}, a capacidade do ciclo é dividida entre os tenants com e-mails pendentes na
+ * proporção dos seus pesos ({@code mailience.tenant.weights}). A parcela não consumida por causa da cota
+ * ({@code mailience.tenant.quota}) fica acumulada como déficit para o próximo ciclo, e o déficit é zerado quando o
+ * tenant esvazia sua fila. Assim uma rajada de um produto não impede que os demais sejam atendidos em todo ciclo.
+ * </p>
+ *
+ * <p>
+ * A soma das parcelas nunca ultrapassa a capacidade do ciclo. Quando os déficits acumulados, ou a parcela mínima de 1
+ * e-mail por tenant, passam dela, o ciclo é repartido na proporção dos créditos de cada tenant, e o que não coube
+ * continua no déficit para o ciclo seguinte.
+ * </p>
+ *
+ * <p>
+ * Tenants com peso 0 são de segundo plano: não participam da divisão e recebem apenas a capacidade que sobrar depois
+ * que os demais tenants forem atendidos (por exemplo, o tenant para onde o controle de admissão rebaixa e-mails em
+ * sobrecarga). Quando apenas tenants de segundo plano têm e-mails pendentes, eles dividem o ciclo com peso 1.
+ * </p>
+ *
+ * <p>
+ * O estado é acessado apenas pelo {@link SenderJob}, sob o seu lock, e por isso não é sincronizado.
+ * </p>
+ */
+@Component
+class TenantScheduler {
+
+    /**
+     * Parcela dos tenants de segundo plano: a sobra do ciclo depois da busca dos demais.
+     */
+    static final int                   LEFTOVER = -1;
+
+    private final Map<String, Integer> weights;
+    private final int                  quota;
+    private final Map<String, Long>    deficits = new HashMap<>();
+
+    TenantScheduler(
+            @Value("#{${mailience.tenant.weights}}") final Map<String, Integer> weights,
+            @Value("${mailience.tenant.quota}") final int quota) {
+        this.weights = weights;
+        this.quota = quota;
+    }
+
+    /**
+     * Distribui a capacidade do ciclo entre os tenants ativos.
+     *
+     * <p>
+     * Tenants de segundo plano aparecem ao final, com parcela {@link #LEFTOVER}, quando há outros tenants ativos: sua
+     * parcela é a sobra do ciclo, conhecida apenas depois da busca dos demais. Os demais podem receber parcela 0 quando
+     * há mais tenants ativos que e-mails no ciclo.
+     * </p>
+     *
+     * @param tenants tenants com e-mails pendentes
+     * @param budget quantidade total de e-mails que o ciclo pode buscar
+     * @return quantidade de e-mails que cada tenant pode enviar neste ciclo
+     */
+    Map<String, Integer> allocate(final List<String> tenants, final int budget) {
+        var foreground = tenants.stream().filter(tenant -> !isBackground(tenant)).toList();
+        var served = foreground.isEmpty() ? tenants : foreground;
+        deficits.keySet().retainAll(served);
+
+        var totalWeight = served.stream().mapToLong(this::weight).sum();
+        final Map<String, Long> credits = new LinkedHashMap<>();
+        for (var tenant : served) {
+            var quantum = Math.max(1, budget * weight(tenant) / totalWeight);
+            var deficit = Math.min(deficits.getOrDefault(tenant, 0L) + quantum, (long) budget);
+            deficits.put(tenant, deficit);
+            credits.put(tenant, quota > 0 ? Math.min(deficit, quota) : deficit);
+        }
+
+        var allocation = fit(credits, budget);
+        tenants.stream()
+                .filter(tenant -> !allocation.containsKey(tenant))
+                .forEach(tenant -> allocation.put(tenant, LEFTOVER));
+        return allocation;
+    }
+
+    /**
+     * Limita a soma das parcelas à capacidade do ciclo, repartindo-a na proporção dos créditos. A sobra do
+     * arredondamento vai, um e-mail por tenant, para os maiores créditos, que são os tenants há mais tempo sem
+     * atendimento.
+     *
+     * @param credits crédito de cada tenant, já limitado pela cota
+     * @param budget quantidade total de e-mails que o ciclo pode buscar
+     * @return parcela de cada tenant, na ordem dos créditos informados
+     */
+    private static Map<String, Integer> fit(final Map<String, Long> credits, final int budget) {
+        var total = credits.values().stream().mapToLong(Long::longValue).sum();
+        final Map<String, Integer> allocation = new LinkedHashMap<>();
+        if (total <= budget) {
+            credits.forEach((tenant, credit) -> allocation.put(tenant, credit.intValue()));
+            return allocation;
+        }
+
+        var remaining = budget;
+        for (var entry : credits.entrySet()) {
+            var share = (int) (entry.getValue() * budget / total);
+            allocation.put(entry.getKey(), share);
+            remaining -= share;
+        }
+        // cada parcela perde menos de 1 no arredondamento: uma passada distribui toda a sobra
+        var byCredit = credits.keySet().stream()
+                .sorted(Comparator.comparing(credits::get).reversed())
+                .toList();
+        for (var tenant : byCredit) {
+            if (remaining == 0) {
+                break;
+            }
+            allocation.merge(tenant, 1, Integer::sum);
+            remaining--;
+        }
+        return allocation;
+    }
+
+    /**
+     * Indica se o tenant é de segundo plano (peso 0), atendido apenas com a sobra do ciclo.
+     *
+     * @param tenant tenant a ser verificado
+     * @return {@code true} se o peso configurado do tenant for 0
+     */
+    boolean isBackground(final String tenant) {
+        return weights.getOrDefault(tenant, 1) <= 0;
+    }
+
+    /**
+     * Desconta do déficit do tenant os e-mails efetivamente buscados.
+     *
+     * @param tenant tenant atendido
+     * @param allocated quantidade liberada pelo {@link #allocate(List, int)}, ou a sobra do ciclo
+     * @param fetched quantidade de e-mails encontrados
+     */
+    void consume(final String tenant, final int allocated, final int fetched) {
+        if (fetched < allocated) {
+            deficits.remove(tenant);
+        } else {
+            deficits.computeIfPresent(tenant, (key, deficit) -> Math.max(0, deficit - fetched));
+        }
+    }
+
+    /**
+     * Calcula quantos lotes do tenant podem ser transmitidos em paralelo, na proporção do seu peso.
+     *
+     * @param tenant tenant atendido
+     * @param tenants tenants ativos no ciclo
+     * @param poolSize quantidade máxima de lotes em transmissão ao mesmo tempo
+     * @return quantidade de lotes simultâneos do tenant (no mínimo 1)
+     */
+    int share(final String tenant, final List<String> tenants, final int poolSize) {
+        var totalWeight = tenants.stream().mapToLong(this::weight).sum();
+        return (int) Math.max(1, poolSize * weight(tenant) / totalWeight);
+    }
+
+    private long weight(final String tenant) {
+        return Math.max(1, weights.getOrDefault(tenant, 1));
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Roda de tempo hierárquica (hierarchical timing wheel) para itens com instante de vencimento.
+ *
+ * <p>
+ * Cada nível é um vetor circular de {@code wheelSize} baldes de {@code tick} milissegundos; itens além do alcance de
+ * um nível vão para o nível seguinte, com baldes {@code wheelSize} vezes maiores, criado sob demanda. Inserir custa
+ * O(1), independentemente da quantidade de itens. Apenas baldes não vazios entram em uma {@link DelayQueue}, de modo
+ * que a thread consumidora só acorda quando há um balde a vencer, e não a cada tick.
+ * </p>
+ *
+ * <p>
+ * Quando um balde de nível superior vence, seus itens são reinseridos e descem para níveis mais finos; itens cujo
+ * vencimento cai no tick corrente são devolvidos por {@link #poll(long)}. A precisão é de um {@code tick}.
+ * </p>
+ *
+ * <p>
+ * Os instantes são em milissegundos desde a época, como em {@link System#currentTimeMillis()}. Todos os métodos são
+ * seguros para uso concorrente.
+ * </p>
+ *
+ * @param <T> tipo do item agendado
+ */
+final class TimingWheel<T> {
+
+    private final DelayQueue<Bucket<T>> queue = new DelayQueue<>();
+    private final Level                 root;
+    private int                         size;
+
+    /**
+     * @param tick duração (em milissegundos) de um balde do primeiro nível
+     * @param wheelSize quantidade de baldes por nível
+     * @param startTime instante inicial da roda
+     */
+    TimingWheel(final long tick, final int wheelSize, final long startTime) {
+        this.root = new Level(tick, wheelSize, startTime);
+    }
+
+    /**
+     * Agenda um item.
+     *
+     * @param item item a ser agendado
+     * @param expiration instante de vencimento
+     * @return {@code false} se o item já venceu (vencimento dentro do tick corrente) e não foi agendado
+     */
+    synchronized boolean add(final T item, final long expiration) {
+        if (root.add(new Entry<>(item, expiration))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Aguarda até {@code timeout} milissegundos pelo vencimento de um balde e devolve os itens vencidos.
+     *
+     * @param timeout tempo máximo de espera (em milissegundos)
+     * @return itens vencidos, possivelmente vazio
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    List<T> poll(final long timeout) throws InterruptedException {
+        var bucket = queue.poll(timeout, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return List.of();
+        }
+
+        final List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            while (bucket != null) {
+                root.advance(bucket.expiration.get());
+                for (var entry : bucket.flush()) {
+                    if (!root.add(entry)) {
+                        size--;
+                        expired.add(entry.item());
+                    }
+                }
+                bucket = queue.poll();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return quantidade de itens agendados
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Nível da roda: {@code wheelSize} baldes de {@code tick} milissegundos a partir de {@code currentTime}.
+     */
+    private final class Level {
+
+        private final long        tick;
+        private final int         wheelSize;
+        private final long        interval;
+        private final Bucket<T>[] buckets;
+        private long              currentTime;
+        private Level             overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(final long tick, final int wheelSize, final long startTime) {
+            this.tick = tick;
+            this.wheelSize = wheelSize;
+            this.interval = tick * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            this.currentTime = startTime - startTime % tick;
+        }
+
+        private boolean add(final Entry<T> entry) {
+            var expiration = entry.expiration();
+            if (expiration < currentTime + tick) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                var virtualId = expiration / tick;
+                var bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.entries.add(entry);
+                if (bucket.expiration.getAndSet(virtualId * tick) != virtualId * tick) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        private void advance(final long time) {
+            if (time >= currentTime + tick) {
+                currentTime = time - time % tick;
+                if (overflow != null) {
+                    overflow.advance(currentTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Balde com os itens que vencem no mesmo intervalo; entra na {@link DelayQueue} pelo seu instante de vencimento.
+     */
+    private static final class Bucket<T> implements Delayed {
+
+        private final AtomicLong     expiration = new AtomicLong(-1);
+        private final List<Entry<T>> entries    = new ArrayList<>();
+
+        private List<Entry<T>> flush() {
+            var flushed = new ArrayList<>(entries);
+            entries.clear();
+            expiration.set(-1);
+            return flushed;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(Math.max(0, expiration.get() - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(expiration.get(), ((Bucket<?>) other).expiration.get());
+        }
+    }
+
+    /**
+     * Item agendado e seu instante de vencimento.
+     */
+    private record Entry<T>(T item, long expiration) {
+    }
+
+}
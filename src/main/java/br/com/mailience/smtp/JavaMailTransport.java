@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.smtp;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.angus.mail.smtp.SMTPTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transporte padrão, baseado no {@link Transport} do Jakarta Mail com a configuração do {@link JavaMailSenderImpl}
+ * criado pelo Spring Boot.
+ *
+ * <p>
+ * Cada chamada mantém uma thread bloqueada durante todo o diálogo SMTP. Ativado quando
+ * {@code mailience.mail.transport} é {@code javamail} ou não está definido.
+ * </p>
+ *
+ * <p>
+ * Reproduz o laço de envio do {@link JavaMailSenderImpl}, mas conduz o {@link SMTPTransport} diretamente para obter a
+ * resposta do servidor a cada mensagem aceita ({@link SMTPTransport#getLastServerResponse()}) e notificá-la antes de
+ * enviar a mensagem seguinte.
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "mailience.mail.transport", havingValue = "javamail", matchIfMissing = true)
+class JavaMailTransport implements MailTransport {
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final JavaMailSenderImpl mailSender;
+
+    JavaMailTransport(final JavaMailSenderImpl mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(final AcceptanceListener listener, final MimeMessage... messages) throws MailException {
+        final Map<Object, Exception> failures = new LinkedHashMap<>();
+        Transport transport = null;
+        try {
+            for (int i = 0; i < messages.length; i++) {
+                var message = messages[i];
+                if (transport == null || !transport.isConnected()) {
+                    closeQuietly(transport);
+                    transport = null;
+                    try {
+                        transport = connect();
+                    } catch (AuthenticationFailedException e) {
+                        throw new MailAuthenticationException(e);
+                    } catch (MessagingException e) {
+                        for (int j = i; j < messages.length; j++) {
+                            failures.put(messages[j], e);
+                        }
+                        throw new MailSendException("Falha ao conectar ao servidor SMTP", e, failures);
+                    }
+                }
+
+                try {
+                    if (message.getSentDate() == null) {
+                        message.setSentDate(new Date());
+                    }
+                    var messageId = message.getMessageID();
+                    message.saveChanges();
+                    if (messageId != null) {
+                        message.setHeader(HEADER_MESSAGE_ID, messageId);
+                    }
+                    var recipients = message.getAllRecipients();
+                    transport.sendMessage(message, recipients != null ? recipients : new Address[0]);
+                } catch (MessagingException | RuntimeException e) {
+                    failures.put(message, e);
+                    continue;
+                }
+                listener.accepted(message, lastReply(transport));
+            }
+        } finally {
+            closeQuietly(transport);
+        }
+
+        if (!failures.isEmpty()) {
+            throw new MailSendException(failures);
+        }
+    }
+
+    /**
+     * Abre uma conexão com as mesmas credenciais e propriedades do {@link JavaMailSenderImpl}.
+     */
+    private Transport connect() throws MessagingException {
+        var username = mailSender.getUsername();
+        var password = mailSender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+        var session = mailSender.getSession();
+        var protocol = mailSender.getProtocol() != null
+                ? mailSender.getProtocol()
+                : session.getProperty("mail.transport.protocol");
+        var transport = session.getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        return transport;
+    }
+
+    /**
+     * Resposta do servidor ao fim do {@code DATA} da última mensagem enviada.
+     */
+    private static String lastReply(final Transport transport) {
+        if (transport instanceof SMTPTransport smtp && smtp.getLastServerResponse() != null) {
+            return smtp.getLastServerResponse().strip();
+        }
+        return null;
+    }
+
+    private static void closeQuietly(final Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Erro ao fechar a conexão SMTP", e);
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.smtp;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import org.springframework.mail.MailException;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Transporte responsável por entregar mensagens ao servidor SMTP.
+ *
+ * <p>
+ * Abstrai o mecanismo de envio usado por {@link br.com.mailience.email.EmailService#send}, permitindo alternar entre
+ * o transporte bloqueante do Jakarta Mail e o cliente SMTP assíncrono baseado em NIO por meio da propriedade
+ * {@code mailience.mail.transport}.
+ * </p>
+ */
+public interface MailTransport {
+
+    /**
+     * Envia as mensagens informadas, reaproveitando a mesma sessão SMTP sempre que possível.
+     *
+     * <p>
+     * Segue o mesmo contrato de {@code JavaMailSender#send(MimeMessage...)}: em caso de falha, lança uma
+     * {@link org.springframework.mail.MailSendException} cujo {@code getFailedMessages()} associa cada mensagem não
+     * entregue à exceção correspondente.
+     * </p>
+     *
+     * @param messages mensagens a serem enviadas
+     * @throws MailException em caso de falha no envio de uma ou mais mensagens
+     */
+    default void send(final MimeMessage... messages) throws MailException {
+        send((message, reply) -> {
+        }, messages);
+    }
+
+    /**
+     * Envia as mensagens informadas, notificando cada mensagem aceita pelo servidor SMTP assim que o aceite ocorre.
+     *
+     * <p>
+     * O {@code listener} é chamado na thread que chamou este método, na ordem dos aceites e antes do retorno, apenas
+     * para mensagens aceitas para todos os destinatários; as demais são informadas na
+     * {@link org.springframework.mail.MailSendException}, como em {@link #send(MimeMessage...)}.
+     * </p>
+     *
+     * @param listener notificado a cada mensagem aceita
+     * @param messages mensagens a serem enviadas
+     * @throws MailException em caso de falha no envio de uma ou mais mensagens
+     */
+    void send(final AcceptanceListener listener, final MimeMessage... messages) throws MailException;
+
+    /**
+     * Envia as mensagens informadas sem bloquear a thread chamadora durante a sessão SMTP.
+     *
+     * <p>
+     * O {@code listener} é chamado no {@code executor}, uma mensagem por vez e na ordem dos aceites, e todas as
+     * notificações terminam antes da conclusão do futuro retornado. Em caso de falha, o futuro é concluído com a
+     * {@link org.springframework.mail.MailSendException} descrita em {@link #send(MimeMessage...)}.
+     * </p>
+     *
+     * <p>
+     * A implementação padrão executa {@link #send(AcceptanceListener, MimeMessage...)} no {@code executor}, ocupando
+     * uma das suas threads durante toda a sessão.
+     * </p>
+     *
+     * @param listener notificado a cada mensagem aceita
+     * @param executor executor das notificações
+     * @param messages mensagens a serem enviadas
+     * @return futuro concluído ao final da sessão
+     */
+    default CompletionStage<Void> sendAsync(final AcceptanceListener listener, final Executor executor,
+            final MimeMessage... messages) {
+        return CompletableFuture.runAsync(() -> send(listener, messages), executor);
+    }
+
+    /**
+     * Notificação de mensagem aceita pelo servidor SMTP (resposta positiva ao fim do {@code DATA}).
+     */
+    @FunctionalInterface
+    interface AcceptanceListener {
+
+        /**
+         * @param message mensagem aceita
+         * @param reply resposta do servidor, que costuma conter o identificador da fila (por exemplo,
+         *            {@code 250 2.0.0 Ok: queued as 4Bc9kX}), ou {@code null} se não estiver disponível
+         */
+        void accepted(final MimeMessage message, final String reply);
+
+    }
+
+}
@@ -0,0 +1,473 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.smtp;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sessão SMTP assíncrona conduzida pelo seletor do {@link NioSmtpTransport}.
+ *
+ * <p>
+ * Implementa o diálogo SMTP como uma máquina de estados orientada a respostas: cada comando escrito registra o
+ * tratador da resposta esperada, e as respostas são despachadas na ordem em que chegam. Quando o servidor anuncia
+ * {@code PIPELINING} (RFC 2920), {@code MAIL FROM}, todos os {@code RCPT TO} e {@code DATA} de uma mensagem são
+ * enviados de uma só vez; caso contrário, cada comando aguarda a resposta do anterior.
+ * </p>
+ *
+ * <p>
+ * Todos os métodos são executados exclusivamente pela thread do seletor, por isso a classe não é thread-safe. O mesmo
+ * vale para a notificação de cada mensagem aceita, que o transporte repassa ao executor informado no envio.
+ * </p>
+ */
+@Slf4j
+final class NioSmtpSession {
+
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private final SocketChannel                             channel;
+    private final boolean                                   connected;
+    private final List<Envelope>                            envelopes;
+    private final String                                    heloName;
+    private final String                                    username;
+    private final String                                    password;
+    private final long                                      timeoutMillis;
+    private final BiConsumer<Object, String>                onAccepted;
+    private final CompletableFuture<Map<Object, Exception>> result     = new CompletableFuture<>();
+    private final Map<Object, Exception>                    failures   = new LinkedHashMap<>();
+    private final Deque<ByteBuffer>                         writeQueue = new ArrayDeque<>();
+    private final Deque<Consumer<Reply>>                    awaiting   = new ArrayDeque<>();
+    private final ByteBuffer                                readBuffer = ByteBuffer.allocate(8192);
+    private final ByteArrayOutputStream                     line       = new ByteArrayOutputStream(128);
+    private final List<String>                              replyLines = new ArrayList<>();
+
+    private SelectionKey key;
+    private boolean      pipelining;
+    private boolean      authPlain;
+    private int          index;
+    private long         deadline;
+
+    NioSmtpSession(final SocketChannel channel, final boolean connected, final List<Envelope> envelopes,
+            final String heloName, final String username, final String password, final long timeoutMillis,
+            final BiConsumer<Object, String> onAccepted) {
+        this.channel = channel;
+        this.connected = connected;
+        this.envelopes = envelopes;
+        this.heloName = heloName;
+        this.username = username;
+        this.password = password;
+        this.timeoutMillis = timeoutMillis;
+        this.onAccepted = onAccepted;
+    }
+
+    /**
+     * @return canal não bloqueante da sessão
+     */
+    SocketChannel channel() {
+        return channel;
+    }
+
+    /**
+     * @return futuro concluído ao final da sessão com as mensagens que falharam e suas exceções
+     */
+    CompletableFuture<Map<Object, Exception>> result() {
+        return result;
+    }
+
+    /**
+     * @return operações de interesse no registro do canal: a leitura da saudação se a conexão já foi concluída por
+     *         {@code SocketChannel#connect}, ou a conclusão da conexão
+     */
+    int initialOps() {
+        return connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT;
+    }
+
+    /**
+     * Associa a sessão à chave do seletor e aguarda a saudação do servidor.
+     *
+     * @param selectionKey chave registrada para o canal da sessão
+     */
+    void attach(final SelectionKey selectionKey) {
+        this.key = selectionKey;
+        this.deadline = System.currentTimeMillis() + timeoutMillis;
+        expect(this::onGreeting);
+    }
+
+    /**
+     * Conclui a conexão não bloqueante iniciada pelo transporte.
+     */
+    void onConnectable() throws IOException {
+        if (channel.finishConnect()) {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Lê os bytes disponíveis no canal e despacha as respostas completas.
+     */
+    void onReadable() throws IOException {
+        readBuffer.clear();
+        int read = channel.read(readBuffer);
+        if (read < 0) {
+            throw new IOException("Conexão encerrada pelo servidor SMTP");
+        }
+        deadline = System.currentTimeMillis() + timeoutMillis;
+        readBuffer.flip();
+        while (readBuffer.hasRemaining() && !result.isDone()) {
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                onLine(line.toString(US_ASCII).stripTrailing());
+                line.reset();
+            } else {
+                line.write(b);
+            }
+        }
+    }
+
+    /**
+     * Escreve os comandos pendentes no canal, mantendo o interesse de escrita até esvaziar a fila. Cada escrita renova
+     * o prazo da sessão, para que a transmissão de uma mensagem grande no {@code DATA} não seja tomada por inatividade.
+     */
+    void onWritable() throws IOException {
+        while (!writeQueue.isEmpty()) {
+            var buffer = writeQueue.peek();
+            if (channel.write(buffer) > 0) {
+                deadline = System.currentTimeMillis() + timeoutMillis;
+            }
+            if (buffer.hasRemaining()) {
+                return;
+            }
+            writeQueue.poll();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * Encerra a sessão por inatividade quando o prazo de resposta do servidor expirou.
+     *
+     * @param now instante atual em milissegundos
+     */
+    void checkTimeout(final long now) {
+        if (now > deadline) {
+            fail(new IOException("Tempo de resposta do servidor SMTP esgotado"));
+        }
+    }
+
+    /**
+     * Marca todas as mensagens ainda não concluídas como falhas e encerra a sessão.
+     *
+     * @param cause causa da falha
+     */
+    void fail(final Exception cause) {
+        if (result.isDone()) {
+            return;
+        }
+        log.warn("⚠️ Sessão SMTP NIO abortada: {}", cause.getMessage());
+        for (int i = index; i < envelopes.size(); i++) {
+            var ex = new MessagingException("Falha na sessão SMTP: " + cause.getMessage(), cause);
+            failures.put(envelopes.get(i).message(), ex);
+        }
+        index = envelopes.size();
+        close();
+    }
+
+    private void onLine(final String text) {
+        replyLines.add(text);
+        if (text.length() > 3 && text.charAt(3) == '-') {
+            return;
+        }
+        var reply = Reply.parse(replyLines);
+        replyLines.clear();
+
+        var handler = awaiting.poll();
+        if (handler != null) {
+            handler.accept(reply);
+        }
+    }
+
+    private void onGreeting(final Reply reply) {
+        if (reply.code() != 220) {
+            fail(new IOException("Saudação inesperada do servidor SMTP: " + reply));
+            return;
+        }
+        send("EHLO " + heloName, this::onEhlo);
+    }
+
+    private void onEhlo(final Reply reply) {
+        if (!reply.positive()) {
+            send("HELO " + heloName, helo -> {
+                if (helo.positive()) {
+                    authenticate();
+                } else {
+                    fail(new IOException("HELO recusado pelo servidor SMTP: " + helo));
+                }
+            });
+            return;
+        }
+        for (var extension : reply.lines()) {
+            var keyword = extension.toUpperCase(Locale.ROOT);
+            pipelining |= keyword.equals("PIPELINING");
+            authPlain |= keyword.startsWith("AUTH") && keyword.contains("PLAIN");
+        }
+        authenticate();
+    }
+
+    private void authenticate() {
+        if (username == null || username.isBlank()) {
+            nextEnvelope();
+            return;
+        }
+        if (!authPlain) {
+            fail(new IOException("Servidor SMTP não anuncia AUTH PLAIN"));
+            return;
+        }
+        var token = Base64.getEncoder().encodeToString(("\0" + username + "\0" + password).getBytes(UTF_8));
+        send("AUTH PLAIN " + token, reply -> {
+            if (reply.code() == 235) {
+                nextEnvelope();
+            } else {
+                fail(new IOException("Autenticação SMTP recusada: " + reply));
+            }
+        });
+    }
+
+    private void nextEnvelope() {
+        if (index >= envelopes.size()) {
+            send("QUIT", reply -> close());
+            return;
+        }
+        var transaction = new Transaction(envelopes.get(index));
+        transaction.steps.add(new Command("MAIL FROM:<" + transaction.envelope.from() + ">",
+                reply -> {
+                    if (!reply.positive()) {
+                        transaction.error = reply.toString();
+                    }
+                    advance(transaction);
+                }));
+        for (var recipient : transaction.envelope.recipients()) {
+            transaction.steps.add(new Command("RCPT TO:<" + recipient + ">",
+                    reply -> {
+                        if (reply.positive()) {
+                            transaction.accepted.add(recipient);
+                        } else {
+                            transaction.rejected.add(recipient);
+                        }
+                        advance(transaction);
+                    }));
+        }
+        transaction.steps.add(new Command("DATA", reply -> onData(transaction, reply)));
+
+        if (pipelining) {
+            while (!transaction.steps.isEmpty()) {
+                var step = transaction.steps.poll();
+                send(step.line(), step.handler());
+            }
+        } else {
+            var step = transaction.steps.poll();
+            send(step.line(), step.handler());
+        }
+    }
+
+    private void advance(final Transaction transaction) {
+        if (pipelining) {
+            return;
+        }
+        if (transaction.error != null) {
+            reset(transaction);
+        } else if (transaction.steps.size() == 1 && transaction.accepted.isEmpty()) {
+            transaction.error = "Nenhum destinatário aceito pelo servidor SMTP";
+            reset(transaction);
+        } else {
+            var step = transaction.steps.poll();
+            send(step.line(), step.handler());
+        }
+    }
+
+    private void onData(final Transaction transaction, final Reply reply) {
+        if (reply.code() != 354) {
+            if (transaction.error == null) {
+                transaction.error = reply.toString();
+            }
+            reset(transaction);
+        } else if (transaction.error != null || transaction.accepted.isEmpty()) {
+            write(".\r\n".getBytes(US_ASCII), ignored -> reset(transaction));
+        } else {
+            write(transaction.envelope.data(), end -> {
+                if (!end.positive()) {
+                    transaction.error = end.toString();
+                } else {
+                    transaction.reply = end.toString();
+                    log.debug("Mensagem aceita pelo servidor SMTP: {}", end);
+                }
+                complete(transaction);
+            });
+        }
+    }
+
+    private void reset(final Transaction transaction) {
+        send("RSET", ignored -> complete(transaction));
+    }
+
+    private void complete(final Transaction transaction) {
+        var message = transaction.envelope.message();
+        if (transaction.error != null || transaction.accepted.isEmpty()) {
+            var detail = transaction.error != null ? transaction.error : "Nenhum destinatário aceito";
+            failures.put(message, new SendFailedException(detail, null, null,
+                    toArray(transaction.accepted), toArray(transaction.rejected)));
+        } else if (!transaction.rejected.isEmpty()) {
+            failures.put(message, new SendFailedException("Destinatários recusados pelo servidor SMTP", null,
+                    toArray(transaction.accepted), null, toArray(transaction.rejected)));
+        } else {
+            onAccepted.accept(message, transaction.reply);
+        }
+        index++;
+        nextEnvelope();
+    }
+
+    private Address[] toArray(final List<String> addresses) {
+        return addresses.stream().map(address -> {
+            var internetAddress = new InternetAddress();
+            internetAddress.setAddress(address);
+            return internetAddress;
+        }).toArray(Address[]::new);
+    }
+
+    private void send(final String command, final Consumer<Reply> handler) {
+        var text = command.getBytes(UTF_8);
+        var bytes = Arrays.copyOf(text, text.length + CRLF.length);
+        System.arraycopy(CRLF, 0, bytes, text.length, CRLF.length);
+        write(bytes, handler);
+    }
+
+    private void write(final byte[] bytes, final Consumer<Reply> handler) {
+        writeQueue.add(ByteBuffer.wrap(bytes));
+        expect(handler);
+        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void expect(final Consumer<Reply> handler) {
+        awaiting.add(handler);
+    }
+
+    private void close() {
+        try {
+            if (key != null) {
+                key.cancel();
+            }
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Erro ao fechar canal SMTP", e);
+        }
+        result.complete(failures);
+    }
+
+    /**
+     * Mensagem preparada para envio: remetente e destinatários do envelope SMTP e o conteúdo já codificado para o
+     * comando {@code DATA}, incluindo o terminador {@code CRLF.CRLF}.
+     *
+     * @param message mensagem original, usada como chave no mapa de falhas
+     * @param from endereço do remetente ({@code MAIL FROM})
+     * @param recipients endereços dos destinatários ({@code RCPT TO})
+     * @param data conteúdo da mensagem com dot-stuffing aplicado
+     */
+    record Envelope(Object message, String from, List<String> recipients, byte[] data) {
+    }
+
+    /**
+     * Resposta do servidor SMTP.
+     *
+     * @param code código de três dígitos
+     * @param lines texto de cada linha, sem o código
+     */
+    private record Reply(int code, List<String> lines) {
+
+        static Reply parse(final List<String> raw) {
+            int code;
+            try {
+                code = Integer.parseInt(raw.get(raw.size() - 1).substring(0, 3));
+            } catch (RuntimeException e) {
+                code = 0;
+            }
+            var lines = raw.stream().map(text -> text.length() > 4 ? text.substring(4) : "").toList();
+            return new Reply(code, lines);
+        }
+
+        boolean positive() {
+            return code >= 200 && code < 300;
+        }
+
+        @Override
+        public String toString() {
+            return code + " " + String.join(" ", lines);
+        }
+    }
+
+    /**
+     * Comando SMTP e o tratador da sua resposta.
+     */
+    private record Command(String line, Consumer<Reply> handler) {
+    }
+
+    /**
+     * Estado de uma transação SMTP ({@code MAIL FROM} até o fim do {@code DATA}) para uma mensagem.
+     */
+    private static final class Transaction {
+
+        private final Envelope       envelope;
+        private final Deque<Command> steps    = new ArrayDeque<>();
+        private final List<String>   accepted = new ArrayList<>();
+        private final List<String>   rejected = new ArrayList<>();
+        private String               error;
+        private String               reply;
+
+        private Transaction(final Envelope envelope) {
+            this.envelope = envelope;
+        }
+    }
+
+}
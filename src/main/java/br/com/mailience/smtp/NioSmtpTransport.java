@@ -0,0 +1,459 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.smtp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Component;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transporte SMTP assíncrono baseado em NIO.
+ *
+ * <p>
+ * Uma única thread de seletor conduz todas as sessões SMTP abertas, de modo que as threads do {@code senderExecutor}
+ * não ficam ocupadas com a espera de rede: elas apenas preparam as mensagens e tratam os aceites e o resultado de cada
+ * sessão, sem aguardar a sua conclusão. Quando o servidor anuncia {@code PIPELINING} (RFC 2920), os comandos do
+ * envelope de cada mensagem são enviados em um único lote, reduzindo as idas e voltas na rede.
+ * </p>
+ *
+ * <p>
+ * Ativado quando {@code mailience.mail.transport} é {@code nio}. O cliente não implementa STARTTLS/SSL e deve ser usado
+ * apenas com relays SMTP confiáveis na rede interna; a autenticação, quando configurada, usa {@code AUTH PLAIN}. Para
+ * não enviar credenciais sem criptografia, a aplicação não inicia com STARTTLS habilitado e usuário configurado.
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "mailience.mail.transport", havingValue = "nio")
+class NioSmtpTransport implements MailTransport, DisposableBean {
+
+    private static final String[] IGNORE_HEADERS = { "Bcc", "Content-Length" };
+    private static final long     SELECT_MILLIS  = 500;
+    private static final Runnable END            = () -> {
+    };
+
+    private final String                host;
+    private final int                   port;
+    private final String                username;
+    private final String                password;
+    private final String                heloName;
+    private final long                  timeoutMillis;
+    private final Selector              selector;
+    private final Queue<NioSmtpSession> pending = new ConcurrentLinkedQueue<>();
+    private final Thread                loop;
+    private volatile boolean            running = true;
+
+    NioSmtpTransport(final MailProperties mailProperties,
+            @Value("${mailience.mail.nio.timeout}") final long timeoutMillis) throws IOException {
+        this.host = mailProperties.getHost();
+        this.port = mailProperties.getPort() != null ? mailProperties.getPort() : 25;
+        this.username = mailProperties.getUsername();
+        this.password = mailProperties.getPassword();
+        this.heloName = heloName(mailProperties.getProperties().get("mail.smtp.localhost"));
+        this.timeoutMillis = timeoutMillis;
+        this.selector = Selector.open();
+
+        if (Boolean.parseBoolean(mailProperties.getProperties().get("mail.smtp.starttls.enable"))) {
+            if (username != null && !username.isBlank()) {
+                throw new IllegalStateException("O transporte SMTP NIO não suporta STARTTLS e enviaria as credenciais"
+                        + " de " + username + " sem criptografia para " + host + ":" + port
+                        + "; use mailience.mail.transport=javamail ou um relay sem autenticação.");
+            }
+            log.warn("⚠️ O transporte SMTP NIO não suporta STARTTLS; as mensagens para {}:{} serão enviadas sem TLS.",
+                    host, port);
+        }
+
+        this.loop = new Thread(this::run, "mailience-smtp-nio");
+        this.loop.setDaemon(true);
+        this.loop.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Executa o {@link #sendAsync(AcceptanceListener, Executor, MimeMessage...)} tendo como executor a própria thread
+     * chamadora, que aguarda o fim da sessão processando as notificações de aceite registradas pelo seletor, de modo
+     * que o tratamento de cada aceite não bloqueia o seletor.
+     * </p>
+     */
+    @Override
+    public void send(final AcceptanceListener listener, final MimeMessage... messages) throws MailException {
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        var result = sendAsync(listener, tasks::add, messages).toCompletableFuture();
+        result.whenComplete((ignored, ex) -> tasks.add(END));
+        drain(tasks);
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MailException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * As mensagens são serializadas na thread chamadora e entregues ao seletor em uma única sessão SMTP; a thread fica
+     * livre durante todo o diálogo. Cada aceite registrado pelo seletor é repassado ao {@code executor}, fora da thread
+     * do seletor.
+     * </p>
+     */
+    @Override
+    public CompletionStage<Void> sendAsync(final AcceptanceListener listener, final Executor executor,
+            final MimeMessage... messages) {
+        final Map<Object, Exception> failures = new LinkedHashMap<>();
+        final List<NioSmtpSession.Envelope> envelopes = new ArrayList<>(messages.length);
+        for (var message : messages) {
+            try {
+                envelopes.add(toEnvelope(message));
+            } catch (MessagingException e) {
+                failures.put(message, e);
+            } catch (IOException e) {
+                failures.put(message, new MessagingException("Erro ao serializar a mensagem", e));
+            }
+        }
+
+        if (envelopes.isEmpty()) {
+            return completion(failures);
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new MailSendException("Transporte SMTP NIO encerrado"));
+        }
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            var connected = connect(channel, new InetSocketAddress(host, port));
+
+            var notifications = new Notifications(listener, executor);
+            var session = new NioSmtpSession(channel, connected, envelopes, heloName, username, password,
+                    timeoutMillis, notifications::accepted);
+            pending.add(session);
+            selector.wakeup();
+
+            return session.result()
+                    .thenCompose(result -> notifications.done().thenApply(ignored -> result))
+                    .thenCompose(result -> {
+                        failures.putAll(result);
+                        return completion(failures);
+                    });
+        } catch (IOException e) {
+            closeQuietly(channel);
+            envelopes.forEach(envelope -> failures.put(envelope.message(),
+                    new MessagingException("Falha ao conectar ao servidor SMTP", e)));
+            return completion(failures);
+        }
+    }
+
+    /**
+     * Interrompe o seletor e aborta as sessões em andamento.
+     */
+    @Override
+    public void destroy() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        selector.close();
+    }
+
+    /**
+     * Laço do seletor: registra as novas sessões, despacha os eventos de rede e expira sessões inativas.
+     */
+    private void run() {
+        while (running) {
+            try {
+                selector.select(SELECT_MILLIS);
+                register();
+
+                var selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    var key = selected.next();
+                    selected.remove();
+                    var session = (NioSmtpSession) key.attachment();
+                    try {
+                        if (key.isValid() && key.isConnectable()) {
+                            session.onConnectable();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            session.onReadable();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            session.onWritable();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        session.fail(e);
+                    }
+                }
+
+                var now = System.currentTimeMillis();
+                for (var key : selector.keys()) {
+                    ((NioSmtpSession) key.attachment()).checkTimeout(now);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("❌ Erro no seletor do transporte SMTP NIO", e);
+            }
+        }
+
+        selector.keys().forEach(key -> ((NioSmtpSession) key.attachment())
+                .fail(new IOException("Transporte SMTP NIO encerrado")));
+        NioSmtpSession session;
+        while ((session = pending.poll()) != null) {
+            session.fail(new IOException("Transporte SMTP NIO encerrado"));
+        }
+    }
+
+    private void register() {
+        NioSmtpSession session;
+        while ((session = pending.poll()) != null) {
+            try {
+                var channel = session.channel();
+                session.attach(channel.register(selector, session.initialOps(), session));
+            } catch (IOException e) {
+                session.fail(e);
+            }
+        }
+    }
+
+    /**
+     * Prepara o envelope SMTP de uma mensagem, reproduzindo o comportamento do {@code JavaMailSenderImpl}: define a
+     * data de envio, salva as alterações preservando o {@code Message-ID} e serializa o conteúdo para o {@code DATA}.
+     *
+     * @param message mensagem a ser preparada
+     * @return envelope pronto para a sessão
+     */
+    private NioSmtpSession.Envelope toEnvelope(final MimeMessage message) throws MessagingException, IOException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        var messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+
+        var from = message.getFrom() != null && message.getFrom().length > 0 ? message.getFrom()[0] : null;
+        if (from == null) {
+            throw new MessagingException("Mensagem sem remetente");
+        }
+        var recipients = message.getAllRecipients();
+        if (recipients == null || recipients.length == 0) {
+            throw new MessagingException("Mensagem sem destinatários");
+        }
+
+        var data = new ByteArrayOutputStream(8192);
+        try (var out = new DotStuffingOutputStream(data)) {
+            message.writeTo(out, IGNORE_HEADERS);
+        }
+
+        return new NioSmtpSession.Envelope(message,
+                ((InternetAddress) from).getAddress(),
+                Arrays.stream(recipients).map(address -> ((InternetAddress) address).getAddress()).toList(),
+                data.toByteArray());
+    }
+
+    /**
+     * Inicia a conexão não bloqueante do canal. Em algumas plataformas a conexão local é concluída de imediato, e a
+     * sessão passa direto à leitura da saudação.
+     *
+     * @param channel canal não bloqueante
+     * @param address endereço do servidor SMTP
+     * @return {@code true} se a conexão já foi concluída
+     */
+    boolean connect(final SocketChannel channel, final InetSocketAddress address) throws IOException {
+        return channel.connect(address);
+    }
+
+    private static CompletableFuture<Void> completion(final Map<Object, Exception> failures) {
+        return failures.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.failedFuture(new MailSendException(failures));
+    }
+
+    /**
+     * Executa as tarefas da fila até o marcador de fim, sem ser interrompido: o resultado do envio deve ser registrado
+     * mesmo que a thread seja interrompida durante a espera.
+     */
+    private static void drain(final BlockingQueue<Runnable> tasks) {
+        var interrupted = false;
+        try {
+            while (true) {
+                Runnable next;
+                try {
+                    next = tasks.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    continue;
+                }
+                if (next == END) {
+                    return;
+                }
+                next.run();
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void closeQuietly(final SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Erro ao fechar canal SMTP", e);
+            }
+        }
+    }
+
+    private static String heloName(final String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "localhost";
+        }
+    }
+
+    /**
+     * Codifica o conteúdo para o comando {@code DATA}: normaliza quebras de linha para {@code CRLF}, duplica o ponto no
+     * início de linha (dot-stuffing) e, ao fechar, escreve o terminador {@code CRLF.CRLF}.
+     */
+    private static final class DotStuffingOutputStream extends FilterOutputStream {
+
+        private int     previous    = -1;
+        private boolean lineStarted = false;
+
+        private DotStuffingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (b == '\n' && previous != '\r') {
+                out.write('\r');
+            }
+            if (b == '.' && !lineStarted) {
+                out.write('.');
+            }
+            out.write(b);
+            lineStarted = b != '\n';
+            previous = b;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (lineStarted) {
+                out.write('\r');
+                out.write('\n');
+            }
+            out.write(new byte[] { '.', '\r', '\n' });
+            super.close();
+        }
+    }
+
+    /**
+     * Encadeia as notificações de aceite de uma sessão no executor informado, uma de cada vez e na ordem dos aceites.
+     * O método {@link #accepted(Object, String)} é chamado apenas pela thread do seletor.
+     */
+    private static final class Notifications {
+
+        private final AcceptanceListener listener;
+        private final Executor           executor;
+        private CompletableFuture<Void>  tail = CompletableFuture.completedFuture(null);
+
+        private Notifications(final AcceptanceListener listener, final Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        private void accepted(final Object message, final String reply) {
+            tail = tail.thenRunAsync(() -> {
+                try {
+                    listener.accepted((MimeMessage) message, reply);
+                } catch (RuntimeException e) {
+                    log.error("❌ Erro ao tratar o aceite de uma mensagem SMTP", e);
+                }
+            }, executor);
+        }
+
+        /**
+         * @return futuro concluído após a última notificação encadeada
+         */
+        private CompletableFuture<Void> done() {
+            return tail;
+        }
+    }
+
+}
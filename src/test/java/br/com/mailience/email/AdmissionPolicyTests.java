@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * Testes do {@link AdmissionPolicy}, com os repositórios simulados e o tamanho da fila lido de {@link #pending}.
+ */
+class AdmissionPolicyTests {
+
+    private final EmailRepository        repository        = mock(EmailRepository.class);
+    private final EmailCounterRepository counterRepository = mock(EmailCounterRepository.class);
+    private final CircuitBreakerRegistry registry          = CircuitBreakerRegistry.ofDefaults();
+    private final AtomicLong             pending           = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        when(counterRepository.findAll())
+                .thenAnswer(invocation -> List.of(new EmailCounterTO(EmailStatus.PENDING, pending.get())));
+    }
+
+    @Test
+    @DisplayName("Deve admitir sem consultar a fila quando nenhuma ação está configurada")
+    void noneAdmitsWithoutQuerying() {
+        pending.set(1_000);
+        var policy = policy("NONE", 10, 0, 0);
+
+        assertDoesNotThrow(() -> policy.admit(emails(2)));
+        verify(counterRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve recusar os e-mails quando a fila excede o limite e a ação é REJECT")
+    void rejectsOverBacklog() {
+        var policy = policy("REJECT", 10, 0, 0);
+
+        pending.set(10);
+        assertDoesNotThrow(() -> policy.admit(emails(2)));
+
+        pending.set(11);
+        var e = assertThrows(EmailRejectedException.class, () -> policy.admit(emails(2)));
+        assertTrue(e.getMessage().contains("11"), e.getMessage());
+        assertCounters(policy, 2, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Não deve contar na fila os e-mails agendados para o futuro")
+    void ignoresScheduledEmails() {
+        when(repository.countScheduledAfter(any())).thenReturn(5L);
+        pending.set(15);
+        var policy = policy("REJECT", 10, 0, 0);
+
+        assertDoesNotThrow(() -> policy.admit(emails(1)));
+    }
+
+    @Test
+    @DisplayName("Deve recusar os e-mails quando o pendente mais antigo excede a idade máxima")
+    void rejectsOverAge() {
+        var policy = new AdmissionPolicy("REJECT", 0, 60, true, 0, "overflow", 0, repository, counterRepository,
+                registry);
+        assertDoesNotThrow(() -> policy.admit(emails(1)));
+
+        when(repository.findOldestUnscheduledCreatedAt(anyList())).thenReturn(Instant.now().minusSeconds(30));
+        assertDoesNotThrow(() -> policy.admit(emails(1)));
+
+        when(repository.findOldestDueScheduledAt(anyList(), any())).thenReturn(Instant.now().minusSeconds(120));
+        assertThrows(EmailRejectedException.class, () -> policy.admit(emails(1)));
+
+        when(repository.findOldestUnscheduledCreatedAt(anyList())).thenReturn(Instant.now().minusSeconds(120));
+        when(repository.findOldestDueScheduledAt(anyList(), any())).thenReturn(null);
+        assertThrows(EmailRejectedException.class, () -> policy.admit(emails(1)));
+
+        when(repository.findOldestDueScheduledAt(anyList(), any())).thenReturn(Instant.now().minusSeconds(30));
+        var e = assertThrows(EmailRejectedException.class, () -> policy.admit(emails(1)));
+        assertTrue(e.getMessage().contains("limite 60 s"), e.getMessage());
+        assertCounters(policy, 3, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Deve recusar os e-mails com o circuito de envio aberto, mesmo com a fila vazia")
+    void rejectsWithBreakerOpen() {
+        var policy = policy("REJECT", 10, 0, 0);
+        var breaker = registry.circuitBreaker("emailServiceSend");
+
+        breaker.transitionToOpenState();
+        var e = assertThrows(EmailRejectedException.class, () -> policy.admit(emails(1)));
+        assertTrue(e.getMessage().contains("OPEN"), e.getMessage());
+
+        breaker.transitionToForcedOpenState();
+        assertThrows(EmailRejectedException.class, () -> policy.admit(emails(1)));
+
+        breaker.transitionToClosedState();
+        assertDoesNotThrow(() -> policy.admit(emails(1)));
+        assertCounters(policy, 2, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o circuito aberto quando breaker-open está desligado")
+    void ignoresBreakerWhenDisabled() {
+        var policy = new AdmissionPolicy("REJECT", 10, 0, false, 0, "overflow", 0, repository, counterRepository,
+                registry);
+        registry.circuitBreaker("emailServiceSend").transitionToOpenState();
+
+        assertDoesNotThrow(() -> policy.admit(emails(1)));
+    }
+
+    @Test
+    @DisplayName("Deve segurar o chamador até a fila baixar quando a ação é DELAY")
+    void delaysUntilLoadDrops() {
+        pending.set(11);
+        var queries = new AtomicInteger();
+        when(counterRepository.findAll()).thenAnswer(invocation -> {
+            var total = queries.incrementAndGet() < 3 ? pending.get() : 0L;
+            return List.of(new EmailCounterTO(EmailStatus.PENDING, total));
+        });
+        var policy = policy("DELAY", 10, 5_000, 20);
+
+        var start = System.nanoTime();
+        assertDoesNotThrow(() -> policy.admit(emails(2)));
+
+        assertEquals(3, queries.get());
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(20).toNanos());
+        assertCounters(policy, 0, 2, 0);
+    }
+
+    @Test
+    @DisplayName("Deve recusar os e-mails quando a fila não baixa dentro do atraso máximo")
+    void delayTimesOut() {
+        pending.set(11);
+        var policy = policy("DELAY", 10, 200, 20);
+
+        var start = System.nanoTime();
+        var e = assertThrows(EmailRejectedException.class, () -> policy.admit(emails(2)));
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(200).toNanos());
+        assertTrue(e.getMessage().endsWith("por mais de 200 ms"), e.getMessage());
+        assertCounters(policy, 1, 2, 0);
+    }
+
+    @Test
+    @DisplayName("Deve recusar os e-mails e preservar a interrupção quando o chamador é interrompido durante o atraso")
+    void delayInterrupted() {
+        pending.set(11);
+        var policy = policy("DELAY", 10, 60_000, 1_000);
+
+        Thread.currentThread().interrupt();
+        var start = System.nanoTime();
+        try {
+            assertThrows(EmailRejectedException.class, () -> policy.admit(emails(1)));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        assertCounters(policy, 0, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Deve mover os e-mails para o tenant de segundo plano quando a ação é DOWNGRADE")
+    void downgradesToOverflowTenant() {
+        pending.set(11);
+        var policy = policy("DOWNGRADE", 10, 0, 0);
+        var emails = emails(2);
+
+        assertDoesNotThrow(() -> policy.admit(emails));
+
+        assertTrue(emails.stream().allMatch(email -> "overflow".equals(email.getTenant())));
+        assertCounters(policy, 0, 0, 2);
+    }
+
+    @Test
+    @DisplayName("Deve consultar a fila no máximo uma vez por intervalo de atualização")
+    void cachesLoadWithinRefreshInterval() {
+        var cached = policy("REJECT", 10, 0, 60_000);
+        cached.admit(emails(1));
+        pending.set(11);
+        assertDoesNotThrow(() -> cached.admit(emails(1)));
+        verify(counterRepository, times(1)).findAll();
+
+        var uncached = policy("REJECT", 10, 0, 0);
+        assertThrows(EmailRejectedException.class, () -> uncached.admit(emails(1)));
+        assertThrows(EmailRejectedException.class, () -> uncached.admit(emails(1)));
+        verify(counterRepository, times(3)).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve expor no endpoint mailqueue a ação e os e-mails recusados, atrasados e rebaixados")
+    void exposesCountersOnEndpoint() {
+        pending.set(11);
+        var policy = policy("REJECT", 10, 0, 0);
+        assertThrows(EmailRejectedException.class, () -> policy.admit(emails(3)));
+        var service = mock(EmailService.class);
+        when(service.statistics()).thenReturn(new EmailStatistics(Map.of(EmailStatus.PENDING, 11L)));
+
+        var statistics = new EmailQueueEndpoint(service, policy).statistics();
+
+        assertEquals(11L, statistics.get("backlog"));
+        assertEquals(Map.of("action", "REJECT", "overloaded", true, "rejected", 3L, "delayed", 0L, "downgraded", 0L),
+                statistics.get("admission"));
+    }
+
+    private AdmissionPolicy policy(final String action, final long maxBacklog, final long maxDelay,
+            final long refreshInterval) {
+        return new AdmissionPolicy(action, maxBacklog, 0, true, maxDelay, "overflow", refreshInterval, repository,
+                counterRepository, registry);
+    }
+
+    private static List<EmailTO> emails(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EmailTO.builder()
+                        .recipient("destino" + i + "@mailience.com")
+                        .subject("Assunto")
+                        .body("<p>Corpo</p>")
+                        .tenant(EmailTO.DEFAULT_TENANT)
+                        .build())
+                .toList();
+    }
+
+    private static void assertCounters(final AdmissionPolicy policy, final long rejected, final long delayed,
+            final long downgraded) {
+        var statistics = policy.statistics();
+        assertEquals(rejected, statistics.get("rejected"));
+        assertEquals(delayed, statistics.get("delayed"));
+        assertEquals(downgraded, statistics.get("downgraded"));
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH do custo por mensagem da descompressão do corpo ({@link BodyCompressor#decompress(byte[])}), pago a
+ * cada e-mail no envio.
+ *
+ * <p>
+ * Cada operação descomprime um corpo diferente, entre 1.000 gerados pelo {@link BodyCompressorTests#render} a partir
+ * dos modelos de treino ({@code mail-samples}) ou dos modelos fora do treino ({@code mail-samples-holdout}). O
+ * parâmetro {@code dictionary} compara os corpos comprimidos com {@code mail-body.dict} e sem dicionário.
+ * </p>
+ *
+ * <p>
+ * Não é executado pelo {@code mvn test}; use {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=BodyCompressorBenchmark}. A taxa de compressão é verificada em
+ * {@link BodyCompressorTests#compressionRatio()} e {@link BodyCompressorTests#heldOutCompressionRatio()}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyCompressorBenchmark {
+
+    @Param({ "mail-samples", "mail-samples-holdout" })
+    private String samples;
+
+    @Param({ "true", "false" })
+    private boolean dictionary;
+
+    private BodyCompressor compressor;
+    private byte[][]       compressed;
+    private int            next;
+
+    @Setup
+    public void setUp() throws Exception {
+        compressor = BodyCompressorTests.compressor(dictionary ? "classpath:mail-body.dict" : "");
+        List<String> bodies = BodyCompressorTests.render(samples, 1_000);
+        compressed = new byte[bodies.size()][];
+        for (int i = 0; i < compressed.length; i++) {
+            compressed[i] = compressor.compress(bodies.get(i));
+        }
+    }
+
+    @Benchmark
+    public String decompress() {
+        var data = compressed[next];
+        next = (next + 1) % compressed.length;
+        return compressor.decompress(data);
+    }
+
+}
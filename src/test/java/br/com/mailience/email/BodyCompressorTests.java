@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Testes do {@link BodyCompressor}.
+ *
+ * <p>
+ * Verificam a ida e volta do corpo, a leitura de corpos comprimidos com dicionários anteriores e a taxa de compressão,
+ * com e sem dicionário, dos modelos de exemplo ({@code mail-samples}, usados no treino de {@code mail-body.dict}) e de
+ * modelos fora do treino ({@code mail-samples-holdout}): três no mesmo leiaute da casa, uma newsletter com leiaute
+ * próprio e um corpo curto. O custo da descompressão é medido pelo {@link BodyCompressorBenchmark}.
+ * </p>
+ */
+class BodyCompressorTests {
+
+    private static final String   DICTIONARY  = "classpath:mail-body.dict";
+    private static final Pattern  PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private static List<String>   bodies;
+    private static BodyCompressor compressor;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        bodies = render("mail-samples", 2_000);
+        compressor = compressor(DICTIONARY);
+    }
+
+    @Test
+    @DisplayName("Deve descomprimir exatamente o corpo comprimido")
+    void roundTrip() {
+        for (var body : bodies.subList(0, 50)) {
+            assertEquals(body, compressor.decompress(compressor.compress(body)));
+        }
+        var accents = "<p>Ação, atenção e informações: 😀</p>";
+        assertEquals(accents, compressor.decompress(compressor.compress(accents)));
+    }
+
+    @Test
+    @DisplayName("Deve ler corpos comprimidos com um dicionário anterior e recusar dicionários desconhecidos")
+    void previousDictionaries(@TempDir final Path dir) throws Exception {
+        var newer = dir.resolve("newer.dict");
+        Files.writeString(newer, "<html><body><p>Outro dicionário</p></body></html>");
+        var body = bodies.get(0);
+        var data = compressor.compress(body);
+
+        var rotated = compressor(newer.toUri().toString() + "," + DICTIONARY);
+        assertEquals(body, rotated.decompress(data));
+        assertTrue(rotated.compress(body).length > 0);
+        assertThrows(IllegalStateException.class, () -> compressor(newer.toUri().toString()).decompress(data));
+    }
+
+    @Test
+    @DisplayName("Deve comprimir os corpos de treino ao menos 8 vezes com o dicionário, e 3 vezes melhor que sem ele")
+    void compressionRatio() {
+        var sizes = sizes(bodies);
+
+        assertTrue(sizes[0] >= 8 * sizes[1], sizes[0] + " -> " + sizes[1] + " bytes");
+        assertTrue(sizes[2] >= 3 * sizes[1], sizes[2] + " x " + sizes[1] + " bytes");
+    }
+
+    @Test
+    @DisplayName("Deve comprimir corpos fora do treino ao menos 5 vezes com o dicionário, e 2 vezes melhor que sem ele")
+    void heldOutCompressionRatio() throws Exception {
+        var sizes = sizes(render("mail-samples-holdout", 1_000));
+
+        assertTrue(sizes[0] >= 5 * sizes[1], sizes[0] + " -> " + sizes[1] + " bytes");
+        assertTrue(sizes[2] >= 2 * sizes[1], sizes[2] + " x " + sizes[1] + " bytes");
+    }
+
+    /**
+     * Gera corpos a partir dos modelos HTML de um diretório de recursos, alternando os modelos e substituindo cada
+     * {@code {{campo}}} por um valor diferente em cada corpo.
+     *
+     * @param location diretório dos modelos no classpath
+     * @param count quantidade de corpos
+     * @return corpos gerados
+     */
+    static List<String> render(final String location, final int count) throws IOException {
+        final List<String> templates = new ArrayList<>();
+        var resources = new PathMatchingResourcePatternResolver().getResources("classpath:" + location + "/*.html");
+        for (var resource : resources) {
+            templates.add(resource.getContentAsString(UTF_8));
+        }
+
+        final List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var n = i;
+            result.add(PLACEHOLDER.matcher(templates.get(i % templates.size()))
+                    .replaceAll(match -> match.group(1) + "-" + Integer.toString(n * 7919, 36)));
+        }
+        return result;
+    }
+
+    /**
+     * @return tamanho total dos corpos, comprimidos com o dicionário e comprimidos sem dicionário, em bytes
+     */
+    private static long[] sizes(final List<String> samples) {
+        var plain = compressor("");
+        var sizes = new long[3];
+        for (var body : samples) {
+            sizes[0] += body.getBytes(UTF_8).length;
+            var data = compressor.compress(body);
+            sizes[1] += data.length;
+            sizes[2] += plain.compress(body).length;
+            assertEquals(body, compressor.decompress(data));
+        }
+        return sizes;
+    }
+
+    static BodyCompressor compressor(final String dictionaries) {
+        return new BodyCompressor(6, dictionaries.split(","), new DefaultResourceLoader());
+    }
+
+}
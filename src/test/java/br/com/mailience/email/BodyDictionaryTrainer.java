@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Treina o dicionário de compressão do corpo dos e-mails ({@link BodyCompressor}) a partir de corpos de exemplo.
+ *
+ * <p>
+ * Os corpos são quebrados em fragmentos ao fim de cada tag ({@code >}) e de cada linha. Cada fragmento recebe a nota
+ * {@code quantidade de corpos em que aparece × tamanho}, e os de maior nota entram no dicionário até o tamanho máximo
+ * (32 KiB, a janela do deflate). Os fragmentos de maior nota ficam no fim do dicionário, mais próximos dos dados e,
+ * portanto, com distâncias menores.
+ * </p>
+ *
+ * <p>
+ * Ferramenta de desenvolvimento, fora do artefato da aplicação. Uso, com o classpath de teste ({@code target/classes},
+ * {@code target/test-classes} e dependências) após {@code mvn test-compile}:
+ * {@code java br.com.mailience.email.BodyDictionaryTrainer [--size=32768] [--min-frequency=2] <saida> <amostras...>}.
+ * As amostras podem ser arquivos HTML (um corpo por arquivo), arquivos NDJSON de importação (campo {@code body} de
+ * cada linha) ou diretórios com esses arquivos. O dicionário gerado deve ser adicionado à frente de
+ * {@code mailience.mail.body.compression.dictionaries}, mantendo os anteriores para a leitura dos registros antigos.
+ * </p>
+ */
+public final class BodyDictionaryTrainer {
+
+    private static final int          MAX_SIZE     = 32 * 1024;
+    private static final int          MIN_FRAGMENT = 4;
+    private static final ObjectMapper MAPPER       = new ObjectMapper();
+
+    private BodyDictionaryTrainer() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        var size = MAX_SIZE;
+        var minFrequency = 2;
+        final List<String> paths = new ArrayList<>();
+        for (var arg : args) {
+            if (arg.startsWith("--size=")) {
+                size = Math.min(MAX_SIZE, Integer.parseInt(arg.substring("--size=".length())));
+            } else if (arg.startsWith("--min-frequency=")) {
+                minFrequency = Integer.parseInt(arg.substring("--min-frequency=".length()));
+            } else {
+                paths.add(arg);
+            }
+        }
+        if (paths.size() < 2) {
+            System.err.println("Uso: BodyDictionaryTrainer [--size=32768] [--min-frequency=2] <saida> <amostras...>");
+            System.exit(2);
+        }
+
+        final List<String> samples = new ArrayList<>();
+        for (var path : paths.subList(1, paths.size())) {
+            samples.addAll(samples(Path.of(path)));
+        }
+        var dictionary = train(samples, size, minFrequency);
+        Files.write(Path.of(paths.get(0)), dictionary);
+        System.out.printf("Dicionário de %d bytes gerado a partir de %d amostras em %s%n", dictionary.length,
+                samples.size(), paths.get(0));
+    }
+
+    /**
+     * Gera o dicionário a partir dos corpos de exemplo.
+     *
+     * @param samples corpos de exemplo
+     * @param size tamanho máximo do dicionário (em bytes)
+     * @param minFrequency quantidade mínima de corpos em que um fragmento deve aparecer
+     * @return dicionário
+     */
+    static byte[] train(final List<String> samples, final int size, final int minFrequency) {
+        final Map<String, Integer> frequency = new HashMap<>();
+        for (var sample : samples) {
+            for (var fragment : fragments(sample)) {
+                frequency.merge(fragment, 1, Integer::sum);
+            }
+        }
+
+        var ranked = frequency.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minFrequency)
+                .sorted(Comparator.<Map.Entry<String, Integer>>comparingLong(
+                        entry -> (long) entry.getValue() * entry.getKey().getBytes(UTF_8).length).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        final List<byte[]> selected = new ArrayList<>();
+        var text = new StringBuilder();
+        var total = 0;
+        for (var fragment : ranked) {
+            var bytes = fragment.getBytes(UTF_8);
+            if (total + bytes.length > size) {
+                continue;
+            }
+            if (text.indexOf(fragment) >= 0) {
+                continue;
+            }
+            selected.add(bytes);
+            text.append(fragment);
+            total += bytes.length;
+        }
+
+        var out = new ByteArrayOutputStream(total);
+        for (int i = selected.size() - 1; i >= 0; i--) {
+            out.writeBytes(selected.get(i));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Fragmentos distintos de um corpo, terminados em {@code >} ou em quebra de linha.
+     */
+    private static Set<String> fragments(final String sample) {
+        final Set<String> fragments = new HashSet<>();
+        var start = 0;
+        for (int i = 0; i < sample.length(); i++) {
+            var c = sample.charAt(i);
+            if (c == '>' || c == '\n') {
+                var fragment = sample.substring(start, i + 1).stripLeading();
+                if (fragment.length() >= MIN_FRAGMENT) {
+                    fragments.add(fragment);
+                }
+                start = i + 1;
+            }
+        }
+        if (sample.length() - start >= MIN_FRAGMENT) {
+            fragments.add(sample.substring(start).stripLeading());
+        }
+        return fragments;
+    }
+
+    private static List<String> samples(final Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            final List<String> samples = new ArrayList<>();
+            try (Stream<Path> files = Files.list(path)) {
+                for (var file : files.sorted().toList()) {
+                    samples.addAll(samples(file));
+                }
+            }
+            return samples;
+        }
+        if (!path.getFileName().toString().endsWith(".ndjson")) {
+            return List.of(Files.readString(path, UTF_8));
+        }
+
+        final List<String> samples = new ArrayList<>();
+        try (Stream<String> lines = Files.lines(path, UTF_8)) {
+            for (var line : (Iterable<String>) lines::iterator) {
+                if (!line.isBlank()) {
+                    var body = MAPPER.readTree(line).path("body");
+                    if (body.isTextual()) {
+                        samples.add(body.asText());
+                    }
+                }
+            }
+        }
+        return samples;
+    }
+}
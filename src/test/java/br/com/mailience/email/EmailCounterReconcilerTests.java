@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Testes de integração do {@link EmailCounterReconciler}, com um banco H2 exclusivo desta classe.
+ */
+@SpringBootTest(properties = { "mailience.job.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:counter-reconciler-tests;DB_CLOSE_DELAY=-1" })
+@ActiveProfiles("test")
+class EmailCounterReconcilerTests {
+
+    @Autowired
+    private EmailCounterReconciler reconciler;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailRepository repository;
+
+    @Autowired
+    private EmailCounterRepository counterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve criar os contadores ausentes e corrigir os divergentes com a contagem real")
+    void createsMissingAndFixesDrift() {
+        for (int i = 0; i < 3; i++) {
+            emailService.save(EmailTO.builder()
+                    .recipient("destino@mailience.com")
+                    .subject("Assunto")
+                    .body("<p>Corpo</p>")
+                    .status(i == 0 ? EmailStatus.SENT : EmailStatus.PENDING)
+                    .build());
+        }
+        jdbcTemplate.update("DELETE FROM MF_EMAIL_COUNTER WHERE status = 'SENT'");
+        jdbcTemplate.update("UPDATE MF_EMAIL_COUNTER SET total = total + 7 WHERE status = 'PENDING'");
+        assertFalse(counterRepository.existsById(EmailStatus.SENT));
+
+        reconciler.reconcile();
+
+        assertTrue(counterRepository.existsById(EmailStatus.SENT));
+        var statistics = emailService.statistics();
+        var counts = countByStatus();
+        for (var status : EmailStatus.values()) {
+            assertEquals(counts.getOrDefault(status, 0L), statistics.count(status), status.name());
+        }
+        assertEquals(EmailStatus.values().length, counterRepository.count());
+    }
+
+    private Map<EmailStatus, Long> countByStatus() {
+        final Map<EmailStatus, Long> counts = new EnumMap<>(EmailStatus.class);
+        for (var row : repository.countByStatus()) {
+            counts.put((EmailStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+}
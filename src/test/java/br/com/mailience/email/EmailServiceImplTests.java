@@ -0,0 +1,589 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import br.com.mailience.smtp.MailTransport;
+import jakarta.mail.Address;
+import jakarta.mail.Message.RecipientType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Testes de integração do {@link EmailServiceImpl} com o banco H2 em memória.
+ *
+ * <p>
+ * O job de envio fica desativado e o banco é exclusivo desta classe, para que apenas os testes alterem os e-mails
+ * gravados e os contadores por status. Cada teste usa um tenant
+ * próprio. O {@link MailTransport} é simulado, e o circuit breaker do envio não abre com as falhas provocadas pelos
+ * testes. O modo campanha agrupa até 3 destinatários por mensagem, e o digest até 3 e-mails, em janelas de uma hora.
+ * </p>
+ */
+@SpringBootTest(properties = { "mailience.job.enabled=false", "mailience.schedule.grace=300",
+        "mailience.mail.digest.enabled=true", "mailience.mail.digest.window=3600", "mailience.mail.max.attempts=5",
+        "mailience.mail.digest.max-items=3", "mailience.mail.campaign.max-recipients=3",
+        "spring.datasource.url=jdbc:h2:mem:email-service-tests;DB_CLOSE_DELAY=-1",
+        "resilience4j.circuitbreaker.instances.emailServiceSend.minimumNumberOfCalls=100",
+        "resilience4j.circuitbreaker.instances.emailServiceSend.slidingWindowSize=100" })
+@ActiveProfiles("test")
+class EmailServiceImplTests {
+
+    private static final String JOB = "job-teste";
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailRepository repository;
+
+    @Autowired
+    private EmailSendingRecovery recovery;
+
+    @MockitoBean
+    private MailTransport transport;
+
+    @Test
+    @DisplayName("Deve devolver ao job os e-mails agendados vencidos há mais que a tolerância")
+    void pollerPicksUpMissedScheduledMails() {
+        var tenant = "agendamento";
+        var now = Instant.now();
+        var missed = save(tenant, now.minus(Duration.ofMinutes(10)));
+        save(tenant, now.minus(Duration.ofMinutes(1)));
+        save(tenant, now.plus(Duration.ofMinutes(1)));
+        var unscheduled = save(tenant, null);
+
+        var pending = emailService.findPending(tenant, 10, EmailStatus.PENDING, EmailStatus.RETRYING);
+
+        assertEquals(List.of(missed.getId(), unscheduled.getId()), pending.stream().map(PendingEmail::id).toList());
+    }
+
+    @Test
+    @DisplayName("Deve segurar os e-mails de digest até o fim da janela em que foram criados")
+    void holdsDigestMailsUntilWindowCloses() {
+        var tenant = "digest";
+        var closed = save(tenant, true, Instant.now().minus(Duration.ofHours(2)));
+        save(tenant, true, Instant.now());
+        var regular = save(tenant, false, Instant.now());
+
+        var pending = emailService.findPending(tenant, 10, EmailStatus.PENDING, EmailStatus.RETRYING);
+
+        assertEquals(List.of(closed.getId(), regular.getId()), pending.stream().map(PendingEmail::id).toList());
+        assertTrue(emailService.findPendingTenants(EmailStatus.PENDING).contains(tenant));
+    }
+
+    @Test
+    @DisplayName("Não deve transmitir de novo os e-mails já reservados por outro envio")
+    void claimSkipsSendingMails() throws Exception {
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class))).thenReturn(new CompletableFuture<>());
+        var email = save("reserva", null);
+
+        emailService.send(JOB, List.of(email));
+        emailService.send("outro-job", List.of(reload(email))).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        verify(transport, times(1)).sendAsync(any(), any(), any(MimeMessage[].class));
+        var reserved = reload(email);
+        assertEquals(EmailStatus.SENDING, reserved.getStatus());
+        assertEquals(JOB, reserved.getJobExecutionId());
+    }
+
+    @Test
+    @DisplayName("Deve reprocessar, e não marcar como enviado, o lote cuja conexão falhou antes do DATA")
+    void transportFailureBeforeDataRetries() throws Exception {
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new MailSendException("Conexão recusada")));
+        var first = save("conexao", null);
+        var second = save("conexao", null);
+
+        emailService.send(JOB, List.of(first, second)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        for (var email : List.of(reload(first), reload(second))) {
+            assertEquals(EmailStatus.RETRYING, email.getStatus());
+            assertEquals(1, email.getAttempts());
+            assertNull(email.getSentAt());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter como enviados os e-mails aceitos antes de uma falha no meio do lote")
+    void midBatchFailureKeepsAcceptedMails() throws Exception {
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class))).thenAnswer(invocation -> {
+            MailTransport.AcceptanceListener listener = invocation.getArgument(0);
+            Executor executor = invocation.getArgument(1);
+            var messages = (MimeMessage[]) invocation.getRawArguments()[2];
+            var failure = new MailSendException(Map.of(messages[1], new IllegalStateException("Conexão perdida")));
+            return CompletableFuture.runAsync(() -> listener.accepted(messages[0], "250 2.0.0 Ok: queued as ABC"),
+                    executor).thenCompose(ignored -> CompletableFuture.<Void> failedFuture(failure));
+        });
+        var accepted = save("meio-do-lote", null);
+        var lost = save("meio-do-lote", null);
+
+        emailService.send(JOB, List.of(accepted, lost)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        var sent = reload(accepted);
+        assertEquals(EmailStatus.SENT, sent.getStatus());
+        assertEquals("250 2.0.0 Ok: queued as ABC", sent.getSmtpResponse());
+        assertEquals(EmailStatus.RETRYING, reload(lost).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve devolver à fila, na inicialização, os e-mails interrompidos durante a transmissão")
+    void recoveryRequeuesSendingMails() {
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class))).thenReturn(new CompletableFuture<>());
+        var retrying = save("recuperacao", null);
+        var exhausted = emailService.save(builder("recuperacao").attempts(4).build());
+        emailService.send(JOB, List.of(retrying, exhausted));
+
+        recovery.run(null);
+
+        var requeued = reload(retrying);
+        assertEquals(EmailStatus.RETRYING, requeued.getStatus());
+        assertEquals(1, requeued.getAttempts());
+        var failed = reload(exhausted);
+        assertEquals(EmailStatus.FAILED, failed.getStatus());
+        assertEquals(5, failed.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar em uma única mensagem de campanha os e-mails com o mesmo conteúdo")
+    void campaignsGroupByContent() throws Exception {
+        var messages = acceptAll();
+        var tenant = "campanha";
+        var first = saveTo(tenant, "ana@mailience.com", "Oferta");
+        var second = saveTo(tenant, "bia@mailience.com", "Oferta");
+        var other = saveTo(tenant, "caio@mailience.com", "Aviso");
+
+        emailService.send(JOB, List.of(first, second, other)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, messages.size());
+        assertEquals(List.of("ana@mailience.com", "bia@mailience.com"),
+                recipients(messages.get(0), RecipientType.BCC));
+        assertNull(messages.get(0).getHeader("X-Email-ID"));
+        assertEquals(List.of("caio@mailience.com"), recipients(messages.get(1), RecipientType.TO));
+        for (var email : List.of(first, second, other)) {
+            assertEquals(EmailStatus.SENT, reload(email).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve repetir um destinatário nem exceder o limite de destinatários em uma mensagem de campanha")
+    void campaignsNeverRepeatRecipient() throws Exception {
+        var messages = acceptAll();
+        var tenant = "campanha-repetida";
+        var batch = List.of(saveTo(tenant, "ana@mailience.com", "Oferta"),
+                saveTo(tenant, "ANA@mailience.com", "Oferta"), saveTo(tenant, "bia@mailience.com", "Oferta"),
+                saveTo(tenant, "caio@mailience.com", "Oferta"), saveTo(tenant, "duda@mailience.com", "Oferta"));
+
+        emailService.send(JOB, batch).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, messages.size());
+        assertEquals(List.of("ana@mailience.com", "bia@mailience.com", "caio@mailience.com"),
+                recipients(messages.get(0), RecipientType.BCC));
+        assertEquals(List.of("ANA@mailience.com", "duda@mailience.com"),
+                recipients(messages.get(1), RecipientType.BCC));
+        for (var email : batch) {
+            assertEquals(EmailStatus.SENT, reload(email).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reprocessar apenas os e-mails dos destinatários recusados em uma mensagem de campanha")
+    void campaignPartialRcptFailure() throws Exception {
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class))).thenAnswer(invocation -> {
+            var message = ((MimeMessage[]) invocation.getRawArguments()[2])[0];
+            var refused = new SendFailedException("550 5.1.1 Usuário desconhecido", null,
+                    new Address[] { new InternetAddress("ana@mailience.com"),
+                            new InternetAddress("caio@mailience.com") },
+                    new Address[0], new Address[] { new InternetAddress("bia@mailience.com") });
+            return CompletableFuture.failedFuture(new MailSendException(Map.of(message, refused)));
+        });
+        var tenant = "campanha-parcial";
+        var first = saveTo(tenant, "ana@mailience.com", "Oferta");
+        var refused = saveTo(tenant, "Bia@Mailience.com", "Oferta");
+        var third = saveTo(tenant, "caio@mailience.com", "Oferta");
+
+        emailService.send(JOB, List.of(first, refused, third)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(EmailStatus.SENT, reload(first).getStatus());
+        assertEquals(EmailStatus.RETRYING, reload(refused).getStatus());
+        assertEquals(EmailStatus.SENT, reload(third).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar em digest apenas os e-mails do mesmo destinatário, tenant e janela")
+    void digestGroupsByRecipientTenantAndWindow() throws Exception {
+        var messages = acceptAll();
+        var tenant = "digest-chave";
+        var window = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofHours(3));
+        var first = saveDigest(tenant, "ana@mailience.com", "Pedido 1", window.plusSeconds(60));
+        var second = saveDigest(tenant, "ANA@mailience.com", "Pedido 2", window.plusSeconds(3_540));
+        var batch = List.of(first, saveDigest(tenant, "bia@mailience.com", "Pedido 3", window.plusSeconds(60)),
+                saveDigest("digest-outro", "ana@mailience.com", "Pedido 4", window.plusSeconds(60)),
+                saveDigest(tenant, "ana@mailience.com", "Pedido 5", window.minusSeconds(60)),
+                emailService.save(builder(tenant).recipient("ana@mailience.com").subject("Pedido 6")
+                        .createdAt(window.plusSeconds(60)).build()),
+                second);
+
+        emailService.send(JOB, batch).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(5, messages.size());
+        var digest = messages.get(0);
+        assertEquals("Você tem 2 novas notificações", digest.getSubject());
+        assertEquals(first.getId() + "," + second.getId(), digest.getHeader("X-Email-ID", null));
+        assertEquals(List.of("ana@mailience.com"), recipients(digest, RecipientType.TO));
+        assertEquals(List.of("Pedido 3", "Pedido 4", "Pedido 5", "Pedido 6"),
+                messages.subList(1, 5).stream().map(this::subject).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Deve dividir o digest em mensagens de até max-items e-mails")
+    void digestSplitsAtMaxItems() throws Exception {
+        var messages = acceptAll();
+        var tenant = "digest-limite";
+        var createdAt = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofHours(3));
+        var batch = Stream.iterate(1, i -> i + 1).limit(7)
+                .map(i -> saveDigest(tenant, "ana@mailience.com", "Pedido " + i, createdAt.plusSeconds(i)))
+                .toList();
+
+        emailService.send(JOB, batch).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, messages.size());
+        assertEquals(ids(batch.subList(0, 3)), messages.get(0).getHeader("X-Email-ID", null));
+        assertEquals(ids(batch.subList(3, 6)), messages.get(1).getHeader("X-Email-ID", null));
+        assertEquals("Você tem 3 novas notificações", messages.get(1).getSubject());
+        // o último e-mail, sozinho, vai como mensagem comum
+        assertEquals(ids(batch.subList(6, 7)), messages.get(2).getHeader("X-Email-ID", null));
+        assertEquals("Pedido 7", messages.get(2).getSubject());
+        for (var email : batch) {
+            assertEquals(EmailStatus.SENT, reload(email).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve montar o HTML do digest com o assunto e o conteúdo do body de cada e-mail, na ordem da fila")
+    void digestComposesHtml() throws Exception {
+        var messages = acceptAll();
+        var tenant = "digest-html";
+        var createdAt = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofHours(3));
+        var first = emailService.save(builder(tenant).subject("Pedido <1>").digest(true).createdAt(createdAt)
+                .body("<html><head><title>X</title></head><BODY class=\"a\">\n<p>Primeiro</p>\n</BODY></html>")
+                .build());
+        var second = emailService.save(builder(tenant).subject("Pedido 2").digest(true).createdAt(createdAt)
+                .body("<p>Segundo</p>").build());
+
+        emailService.send(JOB, List.of(first, second)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, messages.size());
+        messages.get(0).saveChanges();
+        assertEquals("""
+                <html>
+                <body>
+                <div>
+                <h3>Pedido &lt;1&gt;</h3>
+                <p>Primeiro</p>
+                </div>
+                <hr/>
+                <div>
+                <h3>Pedido 2</h3>
+                <p>Segundo</p>
+                </div>
+                <hr/>
+                </body>
+                </html>
+                """, messages.get(0).getContent());
+    }
+
+    @Test
+    @DisplayName("Deve marcar juntos como enviados, ou devolver juntos para reprocessamento, os e-mails de um digest")
+    void digestRowsChangeStatusTogether() throws Exception {
+        var tenant = "digest-status";
+        var createdAt = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofHours(3));
+        acceptAll();
+        var sent = List.of(saveDigest(tenant, "ana@mailience.com", "Pedido 1", createdAt),
+                saveDigest(tenant, "ana@mailience.com", "Pedido 2", createdAt),
+                saveDigest(tenant, "ana@mailience.com", "Pedido 3", createdAt));
+
+        emailService.send(JOB, sent).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        for (var email : sent) {
+            var reloaded = reload(email);
+            assertEquals(EmailStatus.SENT, reloaded.getStatus());
+            assertEquals("250 2.0.0 Ok", reloaded.getSmtpResponse());
+            assertEquals(JOB, reloaded.getJobExecutionId());
+            assertNotNull(reloaded.getSentAt());
+        }
+
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class))).thenAnswer(invocation -> {
+            var message = ((MimeMessage[]) invocation.getRawArguments()[2])[0];
+            return CompletableFuture.failedFuture(
+                    new MailSendException(Map.of(message, new SendFailedException("452 4.2.2 Caixa cheia"))));
+        });
+        var failed = List.of(saveDigest(tenant, "bia@mailience.com", "Pedido 4", createdAt),
+                saveDigest(tenant, "bia@mailience.com", "Pedido 5", createdAt));
+
+        emailService.send(JOB, failed).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        for (var email : failed) {
+            var reloaded = reload(email);
+            assertEquals(EmailStatus.RETRYING, reloaded.getStatus());
+            assertEquals(1, reloaded.getAttempts());
+            assertNull(reloaded.getSentAt());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve mover os contadores por status ao gravar, enviar, falhar e restaurar os e-mails")
+    void countersFollowStatusChanges() throws Exception {
+        var before = emailService.statistics();
+        var sent = save("contadores", null);
+        var retrying = save("contadores", null);
+        var exhausted = emailService.save(builder("contadores").attempts(4).build());
+        assertDeltas(before, Map.of(EmailStatus.PENDING, 3L));
+
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class))).thenAnswer(invocation -> {
+            MailTransport.AcceptanceListener listener = invocation.getArgument(0);
+            Executor executor = invocation.getArgument(1);
+            var messages = (MimeMessage[]) invocation.getRawArguments()[2];
+            var lost = new IllegalStateException("Conexão perdida");
+            var failure = new MailSendException(Map.of(messages[1], lost, messages[2], lost));
+            return CompletableFuture.runAsync(() -> listener.accepted(messages[0], "250 2.0.0 Ok"), executor)
+                    .thenCompose(ignored -> CompletableFuture.<Void> failedFuture(failure));
+        });
+        emailService.send("job-contadores", List.of(sent, retrying, exhausted)).toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        // a falha do lote aciona o fallback do circuit breaker, que devolve à fila o e-mail que esgotou as tentativas
+        // (FAILED), com uma última tentativa
+        var restored = reload(exhausted);
+        assertEquals(EmailStatus.RETRYING, restored.getStatus());
+        assertEquals(4, restored.getAttempts());
+        assertEquals(EmailStatus.SENT, reload(sent).getStatus());
+        assertEquals(EmailStatus.RETRYING, reload(retrying).getStatus());
+        assertDeltas(before, Map.of(EmailStatus.SENT, 1L, EmailStatus.RETRYING, 2L));
+    }
+
+    @Test
+    @DisplayName("Deve manter as estatísticas iguais à contagem real dos e-mails por status")
+    void statisticsMatchRowCounts() {
+        save("estatisticas", null);
+        emailService.save(builder("estatisticas").status(EmailStatus.FAILED).build());
+
+        final Map<EmailStatus, Long> counts = new EnumMap<>(EmailStatus.class);
+        for (var row : repository.countByStatus()) {
+            counts.put((EmailStatus) row[0], (Long) row[1]);
+        }
+        var statistics = emailService.statistics();
+        for (var status : EmailStatus.values()) {
+            assertEquals(counts.getOrDefault(status, 0L), statistics.count(status), status.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar os instantes de entrada na fila, das tentativas e do envio")
+    void stampsAttemptTimestamps() throws Exception {
+        var start = Instant.now();
+        var email = save("instantes", null);
+        assertFalse(email.getCreatedAt().isBefore(start));
+        assertNull(email.getFirstAttemptAt());
+
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new MailSendException("Conexão recusada")));
+        emailService.send(JOB, List.of(email)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        var retried = reload(email);
+        assertNotNull(retried.getFirstAttemptAt());
+        assertFalse(retried.getFirstAttemptAt().isBefore(retried.getCreatedAt()));
+        assertEquals(retried.getFirstAttemptAt(), retried.getLastAttemptAt());
+        assertNull(retried.getSentAt());
+
+        // o envio altera as instâncias do lote: os instantes da primeira falha são lidos antes
+        var firstAttemptAt = retried.getFirstAttemptAt();
+        var failedAt = retried.getLastAttemptAt();
+        acceptAll();
+        emailService.send(JOB, List.of(retried)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        var sent = reload(email);
+        assertEquals(EmailStatus.SENT, sent.getStatus());
+        assertEquals(firstAttemptAt, sent.getFirstAttemptAt());
+        assertTrue(sent.getLastAttemptAt().isAfter(failedAt));
+        assertEquals(sent.getLastAttemptAt(), sent.getSentAt());
+        assertEquals(retried.getCreatedAt(), sent.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Deve calcular os percentis de latência por status dos e-mails tentados na janela")
+    void latencyReportPercentiles() {
+        var from = Instant.parse("2000-01-01T00:00:00Z");
+        var to = from.plus(Duration.ofDays(1));
+        for (int i = 1; i <= 100; i++) {
+            saveAttempted(EmailStatus.SENT, from.plusSeconds(60), Duration.ofSeconds(i));
+        }
+        saveAttempted(EmailStatus.FAILED, from.plusSeconds(60), Duration.ofSeconds(10));
+        saveAttempted(EmailStatus.FAILED, from.plusSeconds(60), Duration.ofSeconds(20));
+        saveAttempted(EmailStatus.SENT, to, Duration.ofSeconds(1));
+        saveAttempted(EmailStatus.SENT, from.minusSeconds(60), Duration.ofSeconds(1));
+
+        var report = emailService.latencyReport(from, to);
+
+        assertEquals(Set.of(EmailStatus.SENT, EmailStatus.FAILED), report.statuses().keySet());
+        var sent = report.statuses().get(EmailStatus.SENT);
+        assertEquals(100, sent.count());
+        assertMillis(50_000, sent.p50());
+        assertMillis(95_000, sent.p95());
+        assertMillis(99_000, sent.p99());
+        assertMillis(100_000, sent.max());
+        var failed = report.statuses().get(EmailStatus.FAILED);
+        assertEquals(2, failed.count());
+        assertMillis(10_000, failed.p50());
+        assertMillis(20_000, failed.max());
+    }
+
+    /**
+     * Simula um transporte que aceita todas as mensagens, na ordem recebida.
+     *
+     * @return mensagens transmitidas
+     */
+    private List<MimeMessage> acceptAll() {
+        final List<MimeMessage> transmitted = new CopyOnWriteArrayList<>();
+        when(transport.sendAsync(any(), any(), any(MimeMessage[].class))).thenAnswer(invocation -> {
+            MailTransport.AcceptanceListener listener = invocation.getArgument(0);
+            Executor executor = invocation.getArgument(1);
+            var messages = (MimeMessage[]) invocation.getRawArguments()[2];
+            transmitted.addAll(List.of(messages));
+            return CompletableFuture.runAsync(() -> {
+                for (var message : messages) {
+                    listener.accepted(message, "250 2.0.0 Ok");
+                }
+            }, executor);
+        });
+        return transmitted;
+    }
+
+    private String subject(final MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String ids(final List<EmailTO> emails) {
+        return emails.stream().map(email -> email.getId().toString()).collect(Collectors.joining(","));
+    }
+
+    private static List<String> recipients(final MimeMessage message, final RecipientType type) throws Exception {
+        return Stream.of(message.getRecipients(type)).map(address -> ((InternetAddress) address).getAddress()).toList();
+    }
+
+    /**
+     * Grava um e-mail já tentado, cuja última tentativa ocorreu {@code latency} após a entrada na fila.
+     */
+    private void saveAttempted(final EmailStatus status, final Instant lastAttemptAt, final Duration latency) {
+        emailService.save(builder("latencia")
+                .status(status)
+                .attempts(1)
+                .createdAt(lastAttemptAt.minus(latency))
+                .firstAttemptAt(lastAttemptAt)
+                .lastAttemptAt(lastAttemptAt)
+                .build());
+    }
+
+    /**
+     * Compara uma latência do histograma, que guarda os valores com 3 dígitos significativos.
+     */
+    private static void assertMillis(final long expected, final long actual) {
+        assertEquals(expected, actual, expected / 1000.0);
+    }
+
+    private void assertDeltas(final EmailStatistics before, final Map<EmailStatus, Long> expected) {
+        var after = emailService.statistics();
+        for (var status : EmailStatus.values()) {
+            assertEquals(expected.getOrDefault(status, 0L), after.count(status) - before.count(status), status.name());
+        }
+    }
+
+    private EmailTO reload(final EmailTO email) {
+        return repository.findById(email.getId()).orElseThrow();
+    }
+
+    private EmailTO saveTo(final String tenant, final String recipient, final String subject) {
+        return emailService.save(builder(tenant).recipient(recipient).subject(subject).build());
+    }
+
+    private EmailTO saveDigest(final String tenant, final String recipient, final String subject,
+            final Instant createdAt) {
+        return emailService.save(builder(tenant).recipient(recipient).subject(subject).digest(true)
+                .createdAt(createdAt).build());
+    }
+
+    private EmailTO save(final String tenant, final Instant scheduledAt) {
+        return emailService.save(builder(tenant).scheduledAt(scheduledAt).build());
+    }
+
+    private EmailTO save(final String tenant, final boolean digest, final Instant createdAt) {
+        return emailService.save(builder(tenant).digest(digest).createdAt(createdAt).build());
+    }
+
+    private static EmailTO.EmailTOBuilder builder(final String tenant) {
+        return EmailTO.builder()
+                .recipient("destino@mailience.com")
+                .subject("Assunto")
+                .body("<p>Corpo</p>")
+                .status(EmailStatus.PENDING)
+                .tenant(tenant);
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link CsvImportReader}.
+ */
+class CsvImportReaderTests {
+
+    private static final String HEADER = "recipient,subject,body\r\n";
+
+    @Test
+    @DisplayName("Deve manter as vírgulas de campos entre aspas")
+    void quotedCommas() throws IOException {
+        try (var reader = reader(HEADER + "a@mailience.com,\"Olá, mundo\",\"<p>a, b, c</p>\"\r\n")) {
+            assertEquals(List.of("a@mailience.com", "Olá, mundo", "<p>a, b, c</p>"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve converter aspas duplicadas em uma aspa")
+    void escapedQuotes() throws IOException {
+        try (var reader = reader(HEADER
+                + "a@mailience.com,Assunto,\"<a href=\"\"https://mailience.com\"\">x</a>\"\n")) {
+            var email = reader.toEmail(reader.next());
+            assertEquals("<a href=\"https://mailience.com\">x</a>", email.getBody());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter as quebras de linha CRLF entre aspas e contar as linhas do arquivo")
+    void crlfInsideQuotes() throws IOException {
+        try (var reader = reader(HEADER
+                + "a@mailience.com,Um,\"<p>linha 1</p>\r\n<p>linha 2</p>\"\r\n"
+                + "b@mailience.com,Dois,<p>corpo</p>\r\n")) {
+            assertEquals(List.of("a@mailience.com", "Um", "<p>linha 1</p>\r\n<p>linha 2</p>"), reader.next());
+            assertEquals(2, reader.line());
+            assertEquals(List.of("b@mailience.com", "Dois", "<p>corpo</p>"), reader.next());
+            assertEquals(4, reader.line());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar o registro com aspas não fechadas, informando a linha em que começa")
+    void unterminatedQuote() throws IOException {
+        try (var reader = reader(HEADER + "a@mailience.com,Assunto,<p>ok</p>\r\n"
+                + "b@mailience.com,\"Assunto,<p>sem fim</p>\r\n")) {
+            reader.next();
+            var error = assertThrows(IOException.class, reader::next);
+            assertTrue(error.getMessage().contains("linha 3"), error.getMessage());
+        }
+    }
+
+    private static CsvImportReader reader(final String content) throws IOException {
+        return new CsvImportReader(new BufferedReader(new StringReader(content)));
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.importer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import br.com.mailience.email.EmailRejectedException;
+import br.com.mailience.email.EmailService;
+import br.com.mailience.email.EmailTO;
+
+/**
+ * Testes do {@link EmailImporter}, com o {@link EmailService} simulado.
+ */
+class EmailImporterTests {
+
+    @TempDir
+    private Path dir;
+
+    private final EmailService service = mock(EmailService.class);
+
+    @Test
+    @DisplayName("Deve gravar os registros válidos em blocos do tamanho configurado")
+    void savesInChunks() throws Exception {
+        final List<String> recipients = new CopyOnWriteArrayList<>();
+        final List<Integer> sizes = new CopyOnWriteArrayList<>();
+        when(service.saveAll(anyList())).thenAnswer(invocation -> {
+            List<EmailTO> emails = invocation.getArgument(0);
+            sizes.add(emails.size());
+            emails.forEach(email -> recipients.add(email.getRecipient()));
+            return emails.size();
+        });
+        final List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            lines.add(record("destino" + i + "@mailience.com"));
+        }
+        lines.add(2, "{\"recipient\":\"sem-arroba\"}");
+        lines.add(record("a".repeat(250) + "@mailience.com"));
+
+        var importer = importer(file("emails.ndjson", lines), 2, 1);
+        importer.importFile();
+
+        assertEquals(0, importer.getExitCode());
+        assertEquals(4, sizes.size());
+        assertTrue(sizes.stream().allMatch(size -> size <= 2), sizes::toString);
+        assertEquals(List.of("destino1@mailience.com", "destino2@mailience.com", "destino3@mailience.com",
+                "destino4@mailience.com", "destino5@mailience.com"), recipients.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Deve repetir com espera exponencial o bloco recusado pelo controle de admissão")
+    void backsOffWhileRejected() throws Exception {
+        when(service.saveAll(anyList()))
+                .thenThrow(new EmailRejectedException("backlog"))
+                .thenThrow(new EmailRejectedException("backlog"))
+                .thenReturn(1);
+
+        var importer = importer(file("emails.ndjson", List.of(record("destino@mailience.com"))), 10, 1);
+        var start = System.nanoTime();
+        importer.importFile();
+
+        assertEquals(0, importer.getExitCode());
+        verify(service, times(3)).saveAll(anyList());
+        // esperas de 500 ms e 1 s antes da segunda e da terceira tentativas
+        assertTrue(System.nanoTime() - start >= 1_500_000_000L);
+    }
+
+    @Test
+    @DisplayName("Deve contar o bloco como rejeitado e concluir quando a recusa excede o prazo")
+    void rejectsChunkAfterTimeout() throws Exception {
+        when(service.saveAll(anyList())).thenThrow(new EmailRejectedException("backlog"));
+
+        var importer = new EmailImporter(service, file("emails.ndjson", List.of(record("destino@mailience.com"))),
+                10, 1, 60, 1);
+        var start = System.nanoTime();
+        importer.importFile();
+
+        assertEquals(0, importer.getExitCode());
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("Deve encerrar com código 1 quando o banco falha")
+    void databaseFailureExitsWithError() throws Exception {
+        when(service.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("Banco indisponível"));
+
+        var importer = importer(file("emails.ndjson", List.of(record("destino@mailience.com"))), 10, 1);
+        importer.importFile();
+
+        assertEquals(1, importer.getExitCode());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar com código 1 quando o arquivo não existe ou tem formato não suportado")
+    void unreadableFileExitsWithError() throws Exception {
+        var missing = importer(dir.resolve("ausente.ndjson"), 10, 1);
+        assertEquals(1, missing.getExitCode());
+        missing.importFile();
+        assertEquals(1, missing.getExitCode());
+
+        var unsupported = importer(file("emails.txt", List.of(record("destino@mailience.com"))), 10, 1);
+        unsupported.importFile();
+        assertEquals(1, unsupported.getExitCode());
+        verify(service, never()).saveAll(anyList());
+    }
+
+    private EmailImporter importer(final Path file, final int chunkSize, final int parallelism) {
+        return new EmailImporter(service, file, chunkSize, parallelism, 60, 60);
+    }
+
+    private Path file(final String name, final List<String> lines) throws IOException {
+        return Files.write(dir.resolve(name), lines, UTF_8);
+    }
+
+    private static String record(final String recipient) {
+        return "{\"recipient\":\"" + recipient + "\",\"subject\":\"Assunto\",\"body\":\"<p>Corpo</p>\"}";
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.mailience.email.EmailStatus;
+import br.com.mailience.email.EmailTO;
+
+/**
+ * Testes do {@link NdjsonImportReader}.
+ */
+class NdjsonImportReaderTests {
+
+    @Test
+    @DisplayName("Deve ignorar as linhas em branco e informar a linha de cada registro")
+    void skipsBlankLines() throws IOException {
+        try (var reader = reader("{\"n\":1}\n\n  \n{\"n\":2}\n\n")) {
+            assertEquals("{\"n\":1}", reader.next());
+            assertEquals(1, reader.line());
+            assertEquals("{\"n\":2}", reader.next());
+            assertEquals(4, reader.line());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve converter os campos obrigatórios e opcionais do registro")
+    void convertsFields() throws IOException {
+        try (var reader = reader("""
+                {"recipient":" a@mailience.com ","subject":"Olá","body":"<p>x</p>","tenant":"loja",\
+                "digest":true,"scheduledAt":"2030-01-31T12:00:00Z"}
+                {"recipient":"b@mailience.com","subject":"Olá","body":"<p>y</p>","tenant":null}
+                """)) {
+            var email = reader.toEmail(reader.next());
+            assertEquals("a@mailience.com", email.getRecipient());
+            assertEquals("Olá", email.getSubject());
+            assertEquals("<p>x</p>", email.getBody());
+            assertEquals("loja", email.getTenant());
+            assertTrue(email.isDigest());
+            assertEquals(Instant.parse("2030-01-31T12:00:00Z"), email.getScheduledAt());
+            assertEquals(EmailStatus.PENDING, email.getStatus());
+
+            var defaults = reader.toEmail(reader.next());
+            assertEquals(EmailTO.DEFAULT_TENANT, defaults.getTenant());
+            assertNull(defaults.getScheduledAt());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar JSON inválido, linhas que não são objetos e campos inválidos")
+    void rejectsInvalidRecords() throws IOException {
+        try (var reader = reader("")) {
+            assertRejected(reader, "{\"recipient\":", "JSON inválido");
+            assertRejected(reader, "[1, 2]", "objeto JSON");
+            assertRejected(reader, "{\"subject\":\"Olá\",\"body\":\"<p>x</p>\"}", "destinatário não informado");
+            assertRejected(reader, "{\"recipient\":\"sem-arroba\",\"subject\":\"Olá\",\"body\":\"<p>x</p>\"}",
+                    "destinatário inválido");
+            assertRejected(reader, "{\"recipient\":\"a@mailience.com\",\"subject\":\"Olá\",\"body\":\"<p>x</p>\","
+                    + "\"scheduledAt\":\"amanhã\"}", "agendamento inválido");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar o destinatário maior que a coluna, mesmo que seja um endereço válido")
+    void rejectsLongRecipient() throws IOException {
+        var recipient = "a".repeat(64) + "@" + String.join(".", "b".repeat(60), "c".repeat(60), "d".repeat(60),
+                "e".repeat(60), "com");
+        try (var reader = reader("")) {
+            assertRejected(reader, "{\"recipient\":\"" + recipient + "\",\"subject\":\"Olá\",\"body\":\"<p>x</p>\"}",
+                    "destinatário com mais de 255 caracteres");
+        }
+    }
+
+    private static void assertRejected(final NdjsonImportReader reader, final String record, final String message) {
+        var error = assertThrows(IllegalArgumentException.class, () -> reader.toEmail(record));
+        assertTrue(error.getMessage().contains(message), error.getMessage());
+    }
+
+    private static NdjsonImportReader reader(final String content) {
+        return new NdjsonImportReader(new BufferedReader(new StringReader(content)));
+    }
+
+}
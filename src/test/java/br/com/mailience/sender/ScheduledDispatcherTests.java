@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.mailience.email.EmailScheduledEvent;
+import br.com.mailience.email.EmailService;
+import br.com.mailience.email.EmailStatus;
+import br.com.mailience.email.EmailTO;
+
+/**
+ * Testes do {@link ScheduledDispatcher}.
+ */
+class ScheduledDispatcherTests {
+
+    @Test
+    @DisplayName("Deve reler a janela carregada e enviar no horário um e-mail agendado para dentro dela")
+    void reloadsLoadedWindow() {
+        final Map<Long, EmailTO> scheduled = new ConcurrentHashMap<>();
+        final AtomicReference<Instant> submittedAt = new AtomicReference<>();
+        var emailService = mock(EmailService.class);
+        when(emailService.findScheduled(any(), any())).thenAnswer(invocation -> {
+            Instant from = invocation.getArgument(0);
+            Instant to = invocation.getArgument(1);
+            final Map<Long, Instant> window = new ConcurrentHashMap<>();
+            scheduled.forEach((id, email) -> {
+                if (!email.getScheduledAt().isBefore(from) && email.getScheduledAt().isBefore(to)) {
+                    window.put(id, email.getScheduledAt());
+                }
+            });
+            return window;
+        });
+        when(emailService.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(scheduled::get).toList();
+        });
+        var senderJob = mock(SenderJob.class);
+        when(senderJob.submit(anyString(), anyList())).thenAnswer(invocation -> {
+            submittedAt.set(Instant.now());
+            return CompletableFuture.completedFuture(null);
+        });
+
+        var settings = new SenderSettings(10, 100, 5, 0, mock(ThreadPoolExecutor.class));
+        var dispatcher = new ScheduledDispatcher(10, 64, 600, 300, settings, emailService, senderJob);
+        dispatcher.start();
+        try {
+            // primeira janela carregada, ainda sem e-mails agendados
+            verify(emailService, timeout(2_000)).findScheduled(any(), any());
+
+            var at = Instant.now().plusMillis(300);
+            var email = EmailTO.builder().id(1L).status(EmailStatus.PENDING).scheduledAt(at).build();
+            scheduled.put(email.getId(), email);
+            dispatcher.onScheduled(new EmailScheduledEvent(at));
+
+            verify(senderJob, timeout(2_000)).submit(anyString(), eq(List.of(email)));
+            assertFalse(submittedAt.get().isBefore(at.minusMillis(10)), "enviado antes do horário agendado");
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+}
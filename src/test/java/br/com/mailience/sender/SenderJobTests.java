@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import br.com.mailience.email.DigestPolicy;
+import br.com.mailience.email.EmailService;
+import br.com.mailience.email.EmailStatus;
+import br.com.mailience.email.EmailTO;
+import br.com.mailience.email.PendingEmail;
+
+/**
+ * Testes do agendamento e da execução do {@link SenderJob}.
+ */
+class SenderJobTests {
+
+    @Test
+    @DisplayName("Deve manter uma única cadeia de execuções ao reagendar durante um ciclo")
+    void rescheduleDuringCycle() {
+        final List<Runnable> scheduled = new ArrayList<>();
+        final List<ScheduledFuture<?>> futures = new ArrayList<>();
+        var taskScheduler = mock(TaskScheduler.class);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            // Uma tarefa agendada em execução continua no estado NEW, e por isso cancel(false) retorna true.
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            when(future.cancel(false)).thenReturn(true);
+            scheduled.add(invocation.getArgument(0));
+            futures.add(future);
+            return future;
+        });
+
+        var emailService = mock(EmailService.class);
+        var settings = new SenderSettings(10, 100, 5, 0, mock(ThreadPoolExecutor.class));
+        var job = new SenderJob(0, settings, emailService, new TenantScheduler(Map.of(), 0),
+                mock(DigestPolicy.class), new InflightBudget(1_000_000, 4, 2048), Runnable::run, taskScheduler);
+        doAnswer(invocation -> {
+            job.reschedule();
+            return List.of();
+        }).when(emailService).findPendingTenants(EmailStatus.PENDING, EmailStatus.RETRYING);
+
+        job.start();
+        scheduled.get(0).run();
+        scheduled.get(1).run();
+
+        assertEquals(3, scheduled.size());
+        verify(futures.get(1), never()).cancel(false);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o conteúdo de um lote apenas depois que o orçamento de memória for concedido")
+    void loadsContentAfterBudget() throws Exception {
+        var emailService = mock(EmailService.class);
+        when(emailService.findPendingTenants(EmailStatus.PENDING, EmailStatus.RETRYING)).thenReturn(List.of("a"));
+        when(emailService.findPending(eq("a"), anyInt(), any(EmailStatus[].class))).thenReturn(List.of(
+                new PendingEmail(1L, "a", "um@mailience.com", false, Instant.now(), 800),
+                new PendingEmail(2L, "a", "dois@mailience.com", false, Instant.now(), 800)));
+        when(emailService.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> EmailTO.builder().id(id).build()).toList();
+        });
+        final List<CompletableFuture<Void>> sends = new CopyOnWriteArrayList<>();
+        when(emailService.send(anyString(), any())).thenAnswer(invocation -> {
+            var send = new CompletableFuture<Void>();
+            sends.add(send);
+            return send;
+        });
+
+        var digestPolicy = mock(DigestPolicy.class);
+        when(digestPolicy.maxItems()).thenReturn(20);
+
+        // duas sessões, mas orçamento para apenas um lote de 800 caracteres por vez
+        var settings = new SenderSettings(1, 100, 5, 2, mock(ThreadPoolExecutor.class));
+        var job = new SenderJob(0, settings, emailService, new TenantScheduler(Map.of(), 0), digestPolicy,
+                new InflightBudget(1_000, 1, 0), Runnable::run, mock(TaskScheduler.class));
+        var cycle = CompletableFuture.runAsync(job::run);
+
+        verify(emailService, timeout(5_000)).findAllById(List.of(1L));
+        verify(emailService, after(200).never()).findAllById(List.of(2L));
+
+        sends.get(0).complete(null);
+        verify(emailService, timeout(5_000)).findAllById(List.of(2L));
+        sends.get(1).complete(null);
+        cycle.get();
+        verify(emailService, times(2)).send(anyString(), any());
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+import br.com.mailience.email.DigestPolicy;
+import br.com.mailience.email.EmailService;
+import br.com.mailience.email.EmailStatus;
+
+/**
+ * Testes da alteração dos parâmetros de envio em tempo de execução ({@link SenderSettings#update}).
+ */
+class SenderSettingsTests {
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>());
+    private final SenderSettings     settings = new SenderSettings(10, 100, 5, 0, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve redimensionar o executor em todas as direções sem violar core <= max")
+    void resizesPoolInAnyDirection() {
+        // cresce além do máximo atual: o máximo precisa mudar antes do núcleo
+        settings.update(6, 8, null, null, null);
+        assertPool(6, 8);
+
+        // diminui abaixo do núcleo atual: o núcleo precisa mudar antes do máximo
+        settings.update(1, 2, null, null, null);
+        assertPool(1, 2);
+
+        // aumenta o máximo e diminui o núcleo
+        settings.update(0, 10, null, null, null);
+        assertPool(0, 10);
+
+        // diminui o máximo e aumenta o núcleo
+        settings.update(5, 6, null, null, null);
+        assertPool(5, 6);
+
+        // apenas um dos valores, mantendo o outro
+        settings.update(null, 5, null, null, null);
+        assertPool(5, 5);
+        settings.update(3, null, null, null, null);
+        assertPool(3, 5);
+    }
+
+    @Test
+    @DisplayName("Deve recusar valores inválidos sem alterar nenhum parâmetro")
+    void rejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> settings.update(5, 3, 20, null, null));
+        assertThrows(IllegalArgumentException.class, () -> settings.update(5, null, 20, null, null));
+        assertThrows(IllegalArgumentException.class, () -> settings.update(-1, null, 20, null, null));
+        assertThrows(IllegalArgumentException.class, () -> settings.update(0, 0, 20, null, null));
+        assertThrows(IllegalArgumentException.class, () -> settings.update(null, null, 20, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> settings.update(null, null, 20, null, 0L));
+
+        assertPool(2, 4);
+        assertEquals(10, settings.batchSize());
+        assertEquals(100, settings.pageSize());
+        assertEquals(5, settings.pollDelay());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar as threads excedentes ao diminuir o executor, após concluírem a tarefa atual")
+    void shrinksRunningThreads() throws Exception {
+        settings.update(4, 4, null, null, null);
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(4, executor.getPoolSize());
+
+        settings.update(1, 1, null, null, null);
+        assertEquals(4, executor.getActiveCount());
+
+        release.countDown();
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (executor.getPoolSize() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, executor.getPoolSize());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o novo intervalo ao fim do ciclo em andamento e reagendar a execução já agendada")
+    void changesPollDelayDuringCycle() {
+        final List<Instant> instants = new ArrayList<>();
+        final List<Runnable> scheduled = new ArrayList<>();
+        final List<ScheduledFuture<?>> futures = new ArrayList<>();
+        var taskScheduler = mock(TaskScheduler.class);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            when(future.cancel(false)).thenReturn(true);
+            scheduled.add(invocation.getArgument(0));
+            instants.add(invocation.getArgument(1));
+            futures.add(future);
+            return future;
+        });
+
+        var emailService = mock(EmailService.class);
+        var job = new SenderJob(0, settings, emailService, new TenantScheduler(Map.of(), 0),
+                mock(DigestPolicy.class), new InflightBudget(1_000_000, 4, 2048), Runnable::run, taskScheduler);
+        var endpoint = new SenderEndpoint(settings,
+                new StaticListableBeanFactory(Map.of("senderJob", job)).getBeanProvider(SenderJob.class));
+        doAnswer(invocation -> {
+            endpoint.update(null, null, null, null, 30L);
+            return List.of();
+        }).when(emailService).findPendingTenants(EmailStatus.PENDING, EmailStatus.RETRYING);
+
+        job.start();
+        var start = Instant.now();
+        scheduled.get(0).run();
+
+        // durante o ciclo nada é cancelado: o fim do ciclo agenda a próxima execução já com 30 s
+        assertEquals(2, scheduled.size());
+        assertBetween(start.plusSeconds(30), instants.get(1), Instant.now().plusSeconds(30));
+
+        // fora do ciclo, a execução agendada é trocada por outra com o novo intervalo
+        doAnswer(invocation -> List.of()).when(emailService).findPendingTenants(EmailStatus.PENDING,
+                EmailStatus.RETRYING);
+        endpoint.update(null, null, null, null, 10L);
+        verify(futures.get(1)).cancel(false);
+        assertEquals(3, scheduled.size());
+        assertEquals(instants.get(1).minusSeconds(20), instants.get(2));
+
+        // uma única cadeia continua a partir da execução reagendada
+        scheduled.get(2).run();
+        assertEquals(4, scheduled.size());
+    }
+
+    private void assertPool(final int core, final int max) {
+        assertEquals(core, executor.getCorePoolSize());
+        assertEquals(max, executor.getMaximumPoolSize());
+        assertEquals(core, settings.effective().get("corePoolSize"));
+        assertEquals(max, settings.maximumPoolSize());
+    }
+
+    private static void assertBetween(final Instant min, final Instant actual, final Instant max) {
+        assertTrue(!actual.isBefore(min) && !actual.isAfter(max), min + " <= " + actual + " <= " + max);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
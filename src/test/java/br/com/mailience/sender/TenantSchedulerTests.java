@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link TenantScheduler}.
+ */
+class TenantSchedulerTests {
+
+    private static final int BUDGET = 100;
+
+    @Test
+    @DisplayName("Deve dividir os ciclos na proporção dos pesos entre tenants com fila cheia")
+    void weightedShares() {
+        var scheduler = new TenantScheduler(Map.of("a", 3, "b", 1), 0);
+        var backlog = new HashMap<>(Map.of("a", 10_000, "b", 10_000));
+
+        var sent = run(scheduler, backlog, 10);
+
+        assertEquals(750, sent.get("a"));
+        assertEquals(250, sent.get("b"));
+    }
+
+    @Test
+    @DisplayName("Deve repassar a um tenant grande a capacidade que um tenant pequeno deixa de usar")
+    void unequalBacklogs() {
+        var scheduler = new TenantScheduler(Map.of(), 0);
+        var backlog = new HashMap<>(Map.of("grande", 10_000, "pequeno", 5));
+
+        var sent = run(scheduler, backlog, 4);
+
+        // o pequeno esvazia no primeiro ciclo, em que cada um recebe metade; depois o grande recebe o ciclo inteiro
+        assertEquals(5, sent.get("pequeno"));
+        assertEquals(BUDGET / 2 + 3 * BUDGET, sent.get("grande"));
+    }
+
+    @Test
+    @DisplayName("Deve limitar cada tenant à cota por ciclo, mesmo com peso maior")
+    void quotaCapsEachCycle() {
+        var scheduler = new TenantScheduler(Map.of("a", 3, "b", 1), 40);
+        var backlog = new HashMap<>(Map.of("a", 10_000, "b", 10_000));
+
+        var sent = run(scheduler, backlog, 5);
+
+        assertEquals(5 * 40, sent.get("a"));
+        assertEquals(5 * 25, sent.get("b"));
+    }
+
+    @Test
+    @DisplayName("Não deve liberar mais que a capacidade do ciclo quando há mais tenants que e-mails")
+    void clampsToBudget() {
+        var scheduler = new TenantScheduler(Map.of(), 0);
+        var tenants = IntStream.range(0, 15).mapToObj(i -> "t" + (char) ('a' + i)).toList();
+        final Map<String, Integer> backlog = new HashMap<>();
+        tenants.forEach(tenant -> backlog.put(tenant, 1_000));
+
+        final Map<String, Integer> sent = new HashMap<>();
+        for (int cycle = 0; cycle < 3; cycle++) {
+            var allocation = scheduler.allocate(tenants, 10);
+            assertEquals(10, allocation.values().stream().mapToInt(Integer::intValue).sum());
+            allocation.forEach((tenant, limit) -> {
+                if (limit > 0) {
+                    scheduler.consume(tenant, limit, limit);
+                    sent.merge(tenant, limit, Integer::sum);
+                }
+            });
+        }
+
+        // todos os tenants são atendidos em poucos ciclos, sem que nenhum receba mais que os outros
+        assertEquals(tenants.size(), sent.size());
+        assertTrue(sent.values().stream().allMatch(count -> count == 2), sent.toString());
+    }
+
+    @Test
+    @DisplayName("Deve deixar para os tenants de segundo plano apenas a sobra do ciclo")
+    void backgroundGetsLeftover() {
+        var scheduler = new TenantScheduler(Map.of("overflow", 0), 0);
+
+        var allocation = scheduler.allocate(List.of("a", "overflow"), BUDGET);
+
+        assertEquals(BUDGET, allocation.get("a"));
+        assertEquals(TenantScheduler.LEFTOVER, allocation.get("overflow"));
+    }
+
+    /**
+     * Simula {@code cycles} ciclos do job, com cada tenant enviando o que foi liberado até esvaziar sua fila.
+     *
+     * @return quantidade enviada por tenant
+     */
+    private static Map<String, Integer> run(final TenantScheduler scheduler, final Map<String, Integer> backlog,
+            final int cycles) {
+        final Map<String, Integer> sent = new HashMap<>();
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            var tenants = backlog.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            scheduler.allocate(tenants, BUDGET).forEach((tenant, limit) -> {
+                var fetched = Math.min(limit, backlog.get(tenant));
+                scheduler.consume(tenant, limit, fetched);
+                backlog.merge(tenant, -fetched, Integer::sum);
+                sent.merge(tenant, fetched, Integer::sum);
+            });
+        }
+        return sent;
+    }
+
+}
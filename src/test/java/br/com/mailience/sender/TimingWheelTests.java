@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.sender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da {@link TimingWheel}.
+ */
+class TimingWheelTests {
+
+    private static final long TICK = 10;
+
+    @Test
+    @DisplayName("Deve vencer itens de todos os níveis, inclusive os criados por transbordamento, no tick agendado")
+    void expiresAcrossLevels() throws Exception {
+        var start = System.currentTimeMillis();
+        // 4 baldes de 10 ms: os níveis cobrem 40 ms, 160 ms, 640 ms e 2560 ms a partir do início
+        var wheel = new TimingWheel<String>(TICK, 4, start);
+        assertFalse(wheel.add("vencido", start));
+
+        final Map<String, Long> expirations = new LinkedHashMap<>();
+        expirations.put("nivel-0", start + 25);
+        expirations.put("nivel-1", start + 120);
+        expirations.put("nivel-2", start + 400);
+        expirations.put("nivel-3", start + 1_000);
+        expirations.forEach((item, expiration) -> assertTrue(wheel.add(item, expiration)));
+        assertEquals(4, wheel.size());
+
+        final Map<String, Long> expired = new HashMap<>();
+        var deadline = start + 5_000;
+        while (expired.size() < expirations.size() && System.currentTimeMillis() < deadline) {
+            for (var item : wheel.poll(50)) {
+                expired.put(item, System.currentTimeMillis());
+            }
+        }
+
+        assertEquals(expirations.keySet(), expired.keySet());
+        expirations.forEach((item, expiration) -> {
+            var at = expired.get(item);
+            assertTrue(at >= expiration - TICK, item + " venceu " + (expiration - at) + " ms antes");
+            assertTrue(at <= expiration + 200, item + " venceu " + (at - expiration) + " ms depois");
+        });
+        assertEquals(0, wheel.size());
+    }
+
+}
@@ -0,0 +1,425 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package br.com.mailience.smtp;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.mail.MailSendException;
+
+import jakarta.mail.Address;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Testes do {@link NioSmtpTransport} e da {@link NioSmtpSession} contra um servidor SMTP simulado no próprio processo.
+ *
+ * <p>
+ * O servidor atende uma única conexão, registra os comandos e o conteúdo do {@code DATA} recebidos e responde conforme
+ * o roteiro de cada teste. Quando anuncia {@code PIPELINING}, ele só responde ao envelope depois de receber o
+ * {@code DATA}, de modo que um cliente que aguardasse cada resposta ficaria parado até o fim do prazo da sessão.
+ * </p>
+ */
+class NioSmtpTransportTests {
+
+    private static final long TIMEOUT = 2000;
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @AfterEach
+    void close() throws Exception {
+        for (var resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve enviar o envelope de cada mensagem em um único lote quando o servidor anuncia PIPELINING")
+    void pipelinedEhlo() throws Exception {
+        var server = server().pipelining(true).start();
+        var transport = transport(server, TIMEOUT);
+        final List<String> accepted = new ArrayList<>();
+
+        transport.send((message, reply) -> accepted.add(subject(message) + ": " + reply),
+                message("Primeira", "ana@mailience.com"), message("Segunda", "bia@mailience.com"));
+
+        assertEquals(List.of("Primeira: 250 2.0.0 Ok: queued as ABC", "Segunda: 250 2.0.0 Ok: queued as ABC"),
+                accepted);
+        assertEquals(List.of("EHLO teste", "MAIL FROM:<noreply@mailience.com>", "RCPT TO:<ana@mailience.com>",
+                "DATA", "MAIL FROM:<noreply@mailience.com>", "RCPT TO:<bia@mailience.com>", "DATA", "QUIT"),
+                server.commands);
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a resposta de cada comando quando o servidor não anuncia PIPELINING")
+    void nonPipelinedEhlo() throws Exception {
+        var server = server().start();
+        var transport = transport(server, TIMEOUT);
+        final List<String> accepted = new ArrayList<>();
+
+        transport.send((message, reply) -> accepted.add(subject(message)),
+                message("Primeira", "ana@mailience.com"), message("Segunda", "bia@mailience.com"));
+
+        assertEquals(List.of("Primeira", "Segunda"), accepted);
+        assertFalse(server.early.get(), "comando enviado antes da resposta ao anterior");
+        assertEquals(List.of("EHLO teste", "MAIL FROM:<noreply@mailience.com>", "RCPT TO:<ana@mailience.com>",
+                "DATA", "MAIL FROM:<noreply@mailience.com>", "RCPT TO:<bia@mailience.com>", "DATA", "QUIT"),
+                server.commands);
+    }
+
+    @Test
+    @DisplayName("Deve usar HELO quando o servidor recusa o EHLO")
+    void heloFallback() throws Exception {
+        var server = server().ehlo(false).start();
+        var transport = transport(server, TIMEOUT);
+
+        transport.send(message("Assunto", "ana@mailience.com"));
+
+        assertEquals(List.of("EHLO teste", "HELO teste"), server.commands.subList(0, 2));
+        assertEquals(1, server.data.size());
+    }
+
+    @Test
+    @DisplayName("Deve entregar aos destinatários aceitos e informar os recusados no RCPT TO")
+    void partialRcptRejection() throws Exception {
+        var server = server().pipelining(true).reject("bia@mailience.com").start();
+        var transport = transport(server, TIMEOUT);
+        var message = message("Assunto", "ana@mailience.com", "bia@mailience.com");
+        final List<MimeMessage> accepted = new ArrayList<>();
+
+        var ex = assertThrows(MailSendException.class,
+                () -> transport.send((m, reply) -> accepted.add(m), message));
+
+        assertTrue(accepted.isEmpty());
+        assertEquals(1, server.data.size());
+        var failure = assertInstanceOf(SendFailedException.class, ex.getFailedMessages().get(message));
+        assertEquals(List.of("ana@mailience.com"), addresses(failure.getValidSentAddresses()));
+        assertEquals(List.of("bia@mailience.com"), addresses(failure.getInvalidAddresses()));
+    }
+
+    @Test
+    @DisplayName("Deve considerar falha a mensagem recusada com 5xx ao fim do DATA e seguir com as demais")
+    void rejectedAfterData() throws Exception {
+        var server = server().dataReply("554 5.7.1 Mensagem recusada").start();
+        var transport = transport(server, TIMEOUT);
+        var first = message("Primeira", "ana@mailience.com");
+        var second = message("Segunda", "bia@mailience.com");
+        final List<MimeMessage> accepted = new ArrayList<>();
+
+        var ex = assertThrows(MailSendException.class,
+                () -> transport.send((m, reply) -> accepted.add(m), first, second));
+
+        assertTrue(accepted.isEmpty());
+        assertEquals(Set.of(first, second), ex.getFailedMessages().keySet());
+        var failure = assertInstanceOf(SendFailedException.class, ex.getFailedMessages().get(first));
+        assertTrue(failure.getMessage().startsWith("554"), failure.getMessage());
+        assertEquals(2, server.data.size());
+        assertEquals("QUIT", server.commands.get(server.commands.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Deve juntar as linhas de uma resposta 250 multilinha")
+    void multilineReply() throws Exception {
+        var server = server().pipelining(true).dataReply("250-2.0.0 Ok\r\n250 2.0.0 queued as ABC").start();
+        var transport = transport(server, TIMEOUT);
+        final List<String> replies = new ArrayList<>();
+
+        transport.send((message, reply) -> replies.add(reply), message("Assunto", "ana@mailience.com"));
+
+        assertEquals(List.of("250 2.0.0 Ok 2.0.0 queued as ABC"), replies);
+    }
+
+    @Test
+    @DisplayName("Deve duplicar o ponto no início das linhas do corpo (dot-stuffing)")
+    void dotStuffing() throws Exception {
+        var server = server().start();
+        var transport = transport(server, TIMEOUT);
+        var message = message("Assunto", "ana@mailience.com");
+        message.setText("primeira linha\n.segunda linha\n.\nfim", US_ASCII.name());
+
+        transport.send(message);
+
+        var lines = List.of(server.data.get(0).split("\n"));
+        assertTrue(lines.contains("..segunda linha"), server.data.get(0));
+        assertTrue(lines.contains(".."), server.data.get(0));
+        assertEquals("fim", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Deve ler a saudação direto quando a conexão é concluída de imediato")
+    void immediateConnect() throws Exception {
+        var server = server().start();
+        var transport = track(new NioSmtpTransport(properties(server, null), TIMEOUT) {
+            @Override
+            boolean connect(final SocketChannel channel, final InetSocketAddress address) throws IOException {
+                channel.configureBlocking(true);
+                channel.connect(address);
+                channel.configureBlocking(false);
+                return true;
+            }
+        });
+
+        transport.send(message("Assunto", "ana@mailience.com"));
+
+        assertEquals(1, server.data.size());
+    }
+
+    @Test
+    @DisplayName("Deve abortar a sessão quando o servidor não responde dentro do prazo")
+    void readTimeout() throws Exception {
+        var server = server().greet(false).start();
+        var transport = transport(server, 300);
+        var message = message("Assunto", "ana@mailience.com");
+
+        var ex = assertThrows(MailSendException.class, () -> transport.send(message));
+
+        var failure = ex.getFailedMessages().get(message);
+        assertTrue(failure.getMessage().contains("Tempo de resposta"), failure.getMessage());
+        assertTrue(server.commands.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar com STARTTLS e credenciais, que seriam enviadas sem criptografia")
+    void refusesAuthWithoutTls() throws Exception {
+        var server = server();
+        var properties = properties(server, "usuario");
+        properties.getProperties().put("mail.smtp.starttls.enable", "true");
+
+        var ex = assertThrows(IllegalStateException.class, () -> new NioSmtpTransport(properties, TIMEOUT));
+
+        assertTrue(ex.getMessage().contains("STARTTLS"), ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a autenticação quando o servidor não anuncia AUTH PLAIN")
+    void refusesAuthWithoutPlain() throws Exception {
+        var server = server().start();
+        var transport = track(new NioSmtpTransport(properties(server, "usuario"), TIMEOUT));
+        var message = message("Assunto", "ana@mailience.com");
+
+        var ex = assertThrows(MailSendException.class, () -> transport.send(message));
+
+        assertTrue(ex.getFailedMessages().get(message).getMessage().contains("AUTH PLAIN"));
+        assertFalse(server.commands.stream().anyMatch(command -> command.startsWith("AUTH")));
+        assertTrue(server.data.isEmpty());
+    }
+
+    private FakeSmtpServer server() throws IOException {
+        var server = new FakeSmtpServer();
+        resources.add(server);
+        return server;
+    }
+
+    private NioSmtpTransport transport(final FakeSmtpServer server, final long timeout) throws IOException {
+        return track(new NioSmtpTransport(properties(server, null), timeout));
+    }
+
+    private NioSmtpTransport track(final NioSmtpTransport transport) {
+        resources.add(0, transport::destroy);
+        return transport;
+    }
+
+    private static MailProperties properties(final FakeSmtpServer server, final String username) {
+        var properties = new MailProperties();
+        properties.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        properties.setPort(server.port());
+        properties.setUsername(username);
+        properties.setPassword(username);
+        properties.getProperties().put("mail.smtp.localhost", "teste");
+        return properties;
+    }
+
+    private static MimeMessage message(final String subject, final String... recipients) throws Exception {
+        var message = new MimeMessage(Session.getInstance(new Properties()));
+        message.setFrom("noreply@mailience.com");
+        for (var recipient : recipients) {
+            message.addRecipients(MimeMessage.RecipientType.TO, recipient);
+        }
+        message.setSubject(subject);
+        message.setText("<p>Corpo</p>", US_ASCII.name(), "html");
+        return message;
+    }
+
+    private static String subject(final MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> addresses(final Address[] addresses) {
+        return Stream.of(addresses).map(address -> ((InternetAddress) address).getAddress()).toList();
+    }
+
+    /**
+     * Servidor SMTP simulado que atende uma única conexão em uma thread própria.
+     */
+    private static final class FakeSmtpServer implements AutoCloseable {
+
+        private final ServerSocket  socket;
+        private final List<String>  commands  = new CopyOnWriteArrayList<>();
+        private final List<String>  data      = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean early     = new AtomicBoolean();
+        private boolean             greet     = true;
+        private boolean             ehlo      = true;
+        private boolean             pipelining;
+        private Set<String>         rejected  = Set.of();
+        private String              dataReply = "250 2.0.0 Ok: queued as ABC";
+
+        private FakeSmtpServer() throws IOException {
+            this.socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        }
+
+        FakeSmtpServer greet(final boolean value) {
+            this.greet = value;
+            return this;
+        }
+
+        FakeSmtpServer ehlo(final boolean value) {
+            this.ehlo = value;
+            return this;
+        }
+
+        FakeSmtpServer pipelining(final boolean value) {
+            this.pipelining = value;
+            return this;
+        }
+
+        FakeSmtpServer reject(final String... recipients) {
+            this.rejected = Set.of(recipients);
+            return this;
+        }
+
+        FakeSmtpServer dataReply(final String reply) {
+            this.dataReply = reply;
+            return this;
+        }
+
+        FakeSmtpServer start() {
+            var thread = new Thread(this::serve, "fake-smtp");
+            thread.setDaemon(true);
+            thread.start();
+            return this;
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+
+        private void serve() {
+            try (var client = socket.accept()) {
+                var in = new BufferedReader(new InputStreamReader(client.getInputStream(), US_ASCII));
+                var out = client.getOutputStream();
+                if (!greet) {
+                    in.read();
+                    return;
+                }
+                write(out, "220 mailience.test ESMTP");
+                var held = new StringBuilder();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    commands.add(line);
+                    var verb = line.length() < 4 ? line : line.substring(0, 4).toUpperCase(Locale.ROOT);
+                    var envelope = verb.equals("MAIL") || verb.equals("RCPT");
+                    var reply = switch (verb) {
+                        case "EHLO" -> !ehlo ? "502 5.5.2 Comando nao reconhecido"
+                                : pipelining ? "250-mailience.test\r\n250-PIPELINING\r\n250 8BITMIME"
+                                        : "250-mailience.test\r\n250 8BITMIME";
+                        case "HELO" -> "250 mailience.test";
+                        case "MAIL" -> "250 2.1.0 Ok";
+                        case "RCPT" -> rejected.contains(line.substring(line.indexOf('<') + 1, line.indexOf('>')))
+                                ? "550 5.1.1 Usuario desconhecido"
+                                : "250 2.1.5 Ok";
+                        case "DATA" -> "354 Termine com <CRLF>.<CRLF>";
+                        case "RSET" -> "250 2.0.0 Ok";
+                        case "QUIT" -> "221 2.0.0 Tchau";
+                        default -> "500 5.5.1 Comando desconhecido";
+                    };
+                    if (pipelining && envelope) {
+                        held.append(reply).append("\r\n");
+                        continue;
+                    }
+                    if (!pipelining && envelope) {
+                        Thread.sleep(50);
+                        early.compareAndSet(false, in.ready());
+                    }
+                    write(out, held + reply);
+                    held.setLength(0);
+                    if (verb.equals("QUIT")) {
+                        return;
+                    }
+                    if (verb.equals("DATA")) {
+                        var content = new StringBuilder();
+                        while (!(line = in.readLine()).equals(".")) {
+                            content.append(line).append('\n');
+                        }
+                        data.add(content.toString());
+                        write(out, dataReply);
+                    }
+                }
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                // a conexão encerrada pelo cliente termina o roteiro
+            }
+        }
+
+        private static void write(final OutputStream out, final String reply) throws IOException {
+            out.write((reply + "\r\n").getBytes(US_ASCII));
+            out.flush();
+        }
+    }
+
+}